@@ -0,0 +1,329 @@
+package com.atquya.intershop.catalog;
+
+import com.atquya.intershop.entities.Product;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The CatalogSnapshot class is a read-only, memory-mapped copy of the product catalog.
+ * The file holds a header, the product ids sorted ascending, the prices, and for every product
+ * the offset and length of its name in a pool of deduplicated UTF-8 strings. Lookups binary-search
+ * the mapped id column, so the catalog lives outside the heap and loads without parsing.
+ *
+ * <pre>
+ * int    magic            "ISCS"
+ * int    format version
+ * int    product count n
+ * int    reserved
+ * long   creation time (epoch millis)
+ * long[n]   ids, ascending
+ * double[n] prices
+ * int[n]    name offsets into the pool
+ * int[n]    name lengths in bytes, -1 for a null name
+ * byte[]    string pool
+ * </pre>
+ */
+public final class CatalogSnapshot {
+    /**
+     * The magic number at the start of every snapshot file.
+     */
+    public static final int MAGIC = 0x49534353;
+
+    /**
+     * The snapshot format version written and understood by this class.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 24;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final long createdAt;
+    private final int pricesOffset;
+    private final int nameOffsetsOffset;
+    private final int nameLengthsOffset;
+    private final int poolOffset;
+
+    private CatalogSnapshot(MappedByteBuffer buffer, int count, long createdAt) {
+        this.buffer = buffer;
+        this.count = count;
+        this.createdAt = createdAt;
+        this.pricesOffset = HEADER_BYTES + count * Long.BYTES;
+        this.nameOffsetsOffset = pricesOffset + count * Double.BYTES;
+        this.nameLengthsOffset = nameOffsetsOffset + count * Integer.BYTES;
+        this.poolOffset = nameLengthsOffset + count * Integer.BYTES;
+    }
+
+    /**
+     * Maps a snapshot file into memory.
+     *
+     * @param path the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be read or is not a snapshot of the supported version
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int version = buffer.getInt(4);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version + ": " + path);
+            }
+            int count = buffer.getInt(8);
+            if (count < 0 || HEADER_BYTES + (long) count * 24 > size) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+            return new CatalogSnapshot(buffer, count, buffer.getLong(16));
+        }
+    }
+
+    /**
+     * Writes the products to a snapshot file.
+     * The file is written next to the target and moved into place, so readers never see a partial snapshot.
+     *
+     * @param path     the snapshot file
+     * @param products the products to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, List<Product> products) throws IOException {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparing(Product::getId));
+        Builder builder = builder();
+        for (Product product : sorted) {
+            builder.add(product.getId(), product.getName(), product.getPrice());
+        }
+        builder.write(path);
+    }
+
+    /**
+     * Creates a builder collecting products one at a time, so a catalog can be written while it is read
+     * without materializing the products.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Retrieves the number of products in the snapshot.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves the time the snapshot was written.
+     *
+     * @return the creation time, in epoch milliseconds
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Finds the position of a product id in the snapshot.
+     *
+     * @param id the id of the product
+     * @return the index of the product, or a negative value if it is not in the snapshot
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Retrieves the id of the product at the given index.
+     *
+     * @param index the index of the product
+     * @return the id of the product
+     */
+    public long idAt(int index) {
+        return buffer.getLong(HEADER_BYTES + index * Long.BYTES);
+    }
+
+    /**
+     * Retrieves the price of the product at the given index.
+     *
+     * @param index the index of the product
+     * @return the price of the product
+     */
+    public double priceAt(int index) {
+        return buffer.getDouble(pricesOffset + index * Double.BYTES);
+    }
+
+    /**
+     * Retrieves the name of the product at the given index.
+     *
+     * @param index the index of the product
+     * @return the name of the product
+     */
+    public String nameAt(int index) {
+        int length = buffer.getInt(nameLengthsOffset + index * Integer.BYTES);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(poolOffset + buffer.getInt(nameOffsetsOffset + index * Integer.BYTES), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Materializes the product at the given index.
+     *
+     * @param index the index of the product
+     * @return a new Product with the stored fields
+     */
+    public Product productAt(int index) {
+        Product product = new Product(nameAt(index), priceAt(index));
+        product.setId(idAt(index));
+        return product;
+    }
+
+    /**
+     * Finds a product by its id.
+     *
+     * @param id the id of the product
+     * @return the product, or empty if it is not in the snapshot
+     */
+    public Optional<Product> findById(long id) {
+        int index = indexOf(id);
+        return index >= 0 ? Optional.of(productAt(index)) : Optional.empty();
+    }
+
+    /**
+     * The Builder class collects products into primitive columns and a deduplicated name pool.
+     * Products must be added in ascending id order.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private double[] prices = new double[INITIAL_CAPACITY];
+        private int[] nameOffsets = new int[INITIAL_CAPACITY];
+        private int[] nameLengths = new int[INITIAL_CAPACITY];
+        private int count;
+        private final Map<String, Integer> poolOffsets = new HashMap<>();
+        private byte[] pool = new byte[16 * INITIAL_CAPACITY];
+        private int poolSize;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a product to the snapshot.
+         *
+         * @param id    the id of the product, greater than the id of the previous product
+         * @param name  the name of the product, or null
+         * @param price the price of the product
+         * @return this builder
+         * @throws IllegalArgumentException if the id is not greater than the previous one
+         */
+        public Builder add(long id, String name, double price) {
+            if (count > 0 && id <= ids[count - 1]) {
+                throw new IllegalArgumentException("Product id " + id + " added after id " + ids[count - 1]);
+            }
+            if (count == ids.length) {
+                int capacity = count * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+                nameLengths = Arrays.copyOf(nameLengths, capacity);
+            }
+            ids[count] = id;
+            prices[count] = price;
+            if (name == null) {
+                nameLengths[count] = -1;
+            } else {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                Integer offset = poolOffsets.get(name);
+                if (offset == null) {
+                    offset = poolSize;
+                    poolOffsets.put(name, offset);
+                    if (poolSize + bytes.length > pool.length) {
+                        pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + bytes.length));
+                    }
+                    System.arraycopy(bytes, 0, pool, poolSize, bytes.length);
+                    poolSize += bytes.length;
+                }
+                nameOffsets[count] = offset;
+                nameLengths[count] = bytes.length;
+            }
+            count++;
+            return this;
+        }
+
+        /**
+         * Writes the collected products to a snapshot file.
+         * The file is written next to the target and moved into place, so readers never see a partial snapshot.
+         *
+         * @param path the snapshot file
+         * @throws IOException if the file cannot be written
+         */
+        public void write(Path path) throws IOException {
+            long size = HEADER_BYTES + (long) count * 24 + poolSize;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Catalog too large for a snapshot: " + size + " bytes");
+            }
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(count).putInt(0).putLong(System.currentTimeMillis());
+                    buffer.asLongBuffer().put(ids, 0, count);
+                    buffer.position(buffer.position() + count * Long.BYTES);
+                    buffer.asDoubleBuffer().put(prices, 0, count);
+                    buffer.position(buffer.position() + count * Double.BYTES);
+                    buffer.asIntBuffer().put(nameOffsets, 0, count);
+                    buffer.position(buffer.position() + count * Integer.BYTES);
+                    buffer.asIntBuffer().put(nameLengths, 0, count);
+                    buffer.position(buffer.position() + count * Integer.BYTES);
+                    buffer.put(pool, 0, poolSize);
+                    buffer.force();
+                }
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.atquya.intershop.controller;
+
+import com.atquya.intershop.catalog.CatalogSnapshot;
+import com.atquya.intershop.events.ChangeEventHub;
+import com.atquya.intershop.profiling.ProfileSummary;
+import com.atquya.intershop.service.CatalogSnapshotService;
+import com.atquya.intershop.service.ProductLoader;
+import com.atquya.intershop.service.ProfilingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The AdminController class handles the API endpoints for operating the service.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final ProductLoader productLoader;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ChangeEventHub changeEventHub;
+    private final ProfilingService profilingService;
+
+    /**
+     * Constructs a new AdminController with the specified dependencies.
+     *
+     * @param productLoader          The coalescing product loader.
+     * @param catalogSnapshotService The memory-mapped catalog snapshot service.
+     * @param changeEventHub         The hub fanning out change notifications.
+     * @param profilingService       The JFR profiling service.
+     */
+    @Autowired
+    public AdminController(ProductLoader productLoader, CatalogSnapshotService catalogSnapshotService, ChangeEventHub changeEventHub, ProfilingService profilingService) {
+        this.productLoader = productLoader;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.changeEventHub = changeEventHub;
+        this.profilingService = profilingService;
+    }
+
+    /**
+     * Retrieves the counters of the product loader.
+     *
+     * @return The number of requested, coalesced and fetched keys and of issued queries.
+     */
+    @GetMapping("/loader/stats")
+    public ProductLoader.Stats getProductLoaderStats() {
+        return productLoader.getStats();
+    }
+
+    /**
+     * Retrieves the counters of the change event hub.
+     *
+     * @return The number of subscribers, delivered notifications and dropped slow subscribers.
+     */
+    @GetMapping("/events/stats")
+    public ChangeEventHub.Stats getChangeEventStats() {
+        return changeEventHub.getStats();
+    }
+
+    /**
+     * Exports the catalog from the database to a new snapshot and starts serving reads from it.
+     *
+     * @return The number of products in the snapshot and the time it was written.
+     */
+    @PostMapping("/catalog/snapshot")
+    public SnapshotInfo exportCatalogSnapshot() {
+        CatalogSnapshot snapshot = catalogSnapshotService.export();
+        return new SnapshotInfo(snapshot.size(), snapshot.getCreatedAt());
+    }
+
+    /**
+     * Records the running service with JFR for the given time and summarizes the recording.
+     * The response is sent once the recording has ended.
+     *
+     * @param seconds How long to record.
+     * @return The CPU samples, allocated bytes, lock waits and JDBC time per endpoint and service method.
+     * @throws ResponseStatusException with 400 if the duration is out of range, or 409 if a recording is running.
+     */
+    @PostMapping("/profile")
+    public DeferredResult<ProfileSummary> profile(@RequestParam(defaultValue = "30") long seconds) {
+        long maxSeconds = profilingService.getMaxDuration().toSeconds();
+        if (seconds <= 0 || seconds > maxSeconds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Profiling duration must be between 1 and " + maxSeconds + " seconds");
+        }
+        Duration duration = Duration.ofSeconds(seconds);
+        CompletableFuture<ProfileSummary> summary;
+        try {
+            summary = profilingService.profile(duration);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        DeferredResult<ProfileSummary> result = new DeferredResult<>(duration.plusSeconds(30).toMillis());
+        summary.whenComplete((profile, error) -> {
+            if (error != null) {
+                result.setErrorResult(error);
+            } else {
+                result.setResult(profile);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Dumps the continuous JFR recording.
+     *
+     * @return The name of the dump file.
+     * @throws ResponseStatusException with 409 if continuous profiling is not enabled.
+     */
+    @PostMapping("/profile/dumps")
+    public String dumpProfile() {
+        try {
+            return profilingService.dump();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the dumps of the continuous JFR recording, including those taken when latency crossed the threshold.
+     *
+     * @return The names of the dump files, oldest first.
+     */
+    @GetMapping("/profile/dumps")
+    public List<String> getProfileDumps() {
+        return profilingService.listDumps();
+    }
+
+    /**
+     * Summarizes a dump of the continuous JFR recording.
+     *
+     * @param name The name of the dump file.
+     * @return The CPU samples, allocated bytes, lock waits and JDBC time per endpoint and service method.
+     * @throws ResponseStatusException with 404 if there is no dump with that name.
+     */
+    @GetMapping("/profile/dumps/{name:.+}")
+    public ProfileSummary getProfileDump(@PathVariable String name) {
+        try {
+            return profilingService.summarizeDump(name);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Summary of an exported catalog snapshot.
+     *
+     * @param products  The number of products in the snapshot.
+     * @param createdAt The time the snapshot was written, in epoch milliseconds.
+     */
+    public record SnapshotInfo(int products, long createdAt) {
+    }
+}
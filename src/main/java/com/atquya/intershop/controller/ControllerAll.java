@@ -1,13 +1,25 @@
 package com.atquya.intershop.controller;
 
+import com.atquya.intershop.dto.CartItemDto;
+import com.atquya.intershop.dto.ProductDto;
 import com.atquya.intershop.entities.CartItem;
 import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.events.CartChangedEvent;
+import com.atquya.intershop.events.ProductChangedEvent;
+import com.atquya.intershop.pricing.PricedCart;
 import com.atquya.intershop.repository.CartItemsRepository;
 import com.atquya.intershop.repository.ProductsRepository;
+import com.atquya.intershop.service.CartExpiryService;
+import com.atquya.intershop.service.CatalogSnapshotService;
+import com.atquya.intershop.service.PricingService;
+import com.atquya.intershop.service.CartItemsService;
+import com.atquya.intershop.service.ProductLoader;
 import com.atquya.intershop.service.ShoppingCartsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,18 +33,36 @@ public class ControllerAll {
     private final ProductsRepository productsRepository;
     private final CartItemsRepository cartItemsRepository;
     private final ShoppingCartsService shoppingCartsService;
+    private final CartExpiryService cartExpiryService;
+    private final ProductLoader productLoader;
+    private final CartItemsService cartItemsService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final PricingService pricingService;
+    private final ApplicationEventPublisher eventPublisher;
     /**
      * Constructs a new Controller with the specified dependencies.
      *
      * @param shoppingCartsService   The shopping cart service.
      * @param productsRepository     The product repository.
      * @param cartItemsRepository    The cart item repository.
+     * @param cartExpiryService      The cart expiry service.
+     * @param productLoader          The coalescing product loader.
+     * @param cartItemsService       The entity to DTO conversion service.
+     * @param catalogSnapshotService The memory-mapped catalog snapshot service.
+     * @param pricingService         The cart pricing service.
+     * @param eventPublisher         The publisher of cart and product change events.
      */
     @Autowired
-    public ControllerAll(ShoppingCartsService shoppingCartsService, ProductsRepository productsRepository, CartItemsRepository cartItemsRepository) {
+    public ControllerAll(ShoppingCartsService shoppingCartsService, ProductsRepository productsRepository, CartItemsRepository cartItemsRepository, CartExpiryService cartExpiryService, ProductLoader productLoader, CartItemsService cartItemsService, CatalogSnapshotService catalogSnapshotService, PricingService pricingService, ApplicationEventPublisher eventPublisher) {
         this.shoppingCartsService = shoppingCartsService;
         this.productsRepository = productsRepository;
         this.cartItemsRepository = cartItemsRepository;
+        this.cartExpiryService = cartExpiryService;
+        this.productLoader = productLoader;
+        this.cartItemsService = cartItemsService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.pricingService = pricingService;
+        this.eventPublisher = eventPublisher;
     }
 
     // Shopping Cart Endpoints
@@ -75,8 +105,18 @@ public class ControllerAll {
      * @return The list of cart items.
      */
     @GetMapping("/cart/items")
-    public List<CartItem> getShoppingCart() {
-        return shoppingCartsService.getShoppingCart();
+    public List<CartItemDto> getShoppingCart() {
+        return cartItemsService.convertCartItemsToDto(shoppingCartsService.getShoppingCart());
+    }
+
+    /**
+     * Prices the shopping cart with the active promotions applied.
+     *
+     * @return The priced cart.
+     */
+    @GetMapping("/cart/priced")
+    public PricedCart getPricedCart() {
+        return pricingService.priceCart();
     }
 
     /**
@@ -86,8 +126,12 @@ public class ControllerAll {
      * @return The added cart item.
      */
     @PostMapping("/cart/items/add")
-    public CartItem addCartItem(@RequestBody CartItem cartItem) {
-        return cartItemsRepository.save(cartItem);
+    public CartItemDto addCartItem(@RequestBody CartItem cartItem) {
+        cartItem.setLastModified(Instant.now());
+        CartItem savedCartItem = cartItemsRepository.save(cartItem);
+        cartExpiryService.touch(savedCartItem);
+        eventPublisher.publishEvent(new CartChangedEvent(savedCartItem.getId(), savedCartItem.getQuantity()));
+        return cartItemsService.convertToDto(savedCartItem);
     }
 
     // Product Endpoints
@@ -99,8 +143,11 @@ public class ControllerAll {
      * @return The added product.
      */
     @PostMapping("/products/add")
-    public Product addProduct(@RequestBody Product product) {
-        return productsRepository.save(product);
+    public ProductDto addProduct(@RequestBody Product product) {
+        Product savedProduct = productsRepository.save(product);
+        catalogSnapshotService.apply(savedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), savedProduct));
+        return cartItemsService.convertToDto(savedProduct);
     }
 
     /**
@@ -109,8 +156,8 @@ public class ControllerAll {
      * @return The list of products.
      */
     @GetMapping("/products")
-    public List<Product> getAllProducts() {
-        return productsRepository.findAll();
+    public List<ProductDto> getAllProducts() {
+        return cartItemsService.convertProductsToDto(catalogSnapshotService.findAll().orElseGet(productsRepository::findAll));
     }
 
     /**
@@ -120,8 +167,10 @@ public class ControllerAll {
      * @return An optional containing the product if found, or empty if not found.
      */
     @GetMapping("/products/{id}")
-    public Optional<Product> getProductById(@PathVariable Long id) {
-        return productsRepository.findById(id);
+    public Optional<ProductDto> getProductById(@PathVariable Long id) {
+        return catalogSnapshotService.findById(id)
+                .or(() -> productLoader.get(id))
+                .map(cartItemsService::convertToDto);
     }
 
     /**
@@ -133,13 +182,16 @@ public class ControllerAll {
      * @throws RuntimeException if the product is not found with the specified ID.
      */
     @PutMapping("/products/{id}")
-    public Product updateProduct(@PathVariable Long id, @RequestBody Product updatedProduct) {
+    public ProductDto updateProduct(@PathVariable Long id, @RequestBody Product updatedProduct) {
         Optional<Product> existingProduct = productsRepository.findById(id);
         if (existingProduct.isPresent()) {
             Product product = existingProduct.get();
             product.setName(updatedProduct.getName());
             product.setPrice(updatedProduct.getPrice());
-            return productsRepository.save(product);
+            Product savedProduct = productsRepository.save(product);
+            catalogSnapshotService.apply(savedProduct);
+            eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), savedProduct));
+            return cartItemsService.convertToDto(savedProduct);
         } else {
             throw new RuntimeException("Product not found with id: " + id);
         }
@@ -153,5 +205,7 @@ public class ControllerAll {
     @DeleteMapping("/products/{id}")
     public void deleteProduct(@PathVariable Long id) {
         productsRepository.deleteById(id);
+        catalogSnapshotService.remove(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, null));
     }
 }
@@ -0,0 +1,84 @@
+package com.atquya.intershop.controller;
+
+import com.atquya.intershop.events.ChangeEventHub;
+import com.atquya.intershop.events.ChangeNotification;
+import com.atquya.intershop.events.ChangeSink;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The EventsController class handles the API endpoint for subscribing to cart and product changes.
+ */
+@RestController
+@RequestMapping("/api")
+public class EventsController {
+
+    private final ChangeEventHub changeEventHub;
+    private final long timeoutMillis;
+    private final int maxProducts;
+
+    /**
+     * Constructs a new EventsController with the specified dependencies.
+     *
+     * @param changeEventHub The hub fanning out change notifications.
+     * @param timeout        How long a subscription stays open before the client has to reconnect.
+     * @param maxProducts    The maximum number of products per subscription.
+     */
+    @Autowired
+    public EventsController(ChangeEventHub changeEventHub,
+                            @Value("${intershop.events.timeout:PT30M}") Duration timeout,
+                            @Value("${intershop.events.max-products:200}") int maxProducts) {
+        this.changeEventHub = changeEventHub;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxProducts = maxProducts;
+    }
+
+    /**
+     * Opens a server-sent events stream of changes to the cart and to the given products.
+     * Events are named {@code cart}, {@code product} and {@code catalog}; a {@code catalog} event means
+     * many prices changed at once and subscribed products should be fetched again.
+     *
+     * @param cart     Whether to receive cart changes.
+     * @param products The IDs of the products to receive changes of.
+     * @return The event stream.
+     * @throws IllegalArgumentException if too many products are requested.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(defaultValue = "false") boolean cart,
+                                @RequestParam(required = false) List<Long> products) {
+        List<Long> productIds = products != null ? products : List.of();
+        if (productIds.size() > maxProducts) {
+            throw new IllegalArgumentException("At most " + maxProducts + " products can be subscribed to, got " + productIds.size());
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ChangeEventHub.Subscription subscription = changeEventHub.subscribe(cart, productIds, new EmitterSink(emitter));
+        emitter.onCompletion(() -> changeEventHub.unsubscribe(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> changeEventHub.unsubscribe(subscription));
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements ChangeSink {
+
+        @Override
+        public void send(ChangeNotification notification) throws IOException {
+            if (notification == ChangeNotification.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment(notification.type()));
+            } else {
+                emitter.send(SseEmitter.event().name(notification.type()).data(notification.data(), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
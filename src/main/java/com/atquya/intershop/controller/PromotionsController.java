@@ -0,0 +1,64 @@
+package com.atquya.intershop.controller;
+
+import com.atquya.intershop.dto.PromotionDto;
+import com.atquya.intershop.service.DtoMapper;
+import com.atquya.intershop.service.PricingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The PromotionsController class handles the API endpoints for managing promotions.
+ */
+@RestController
+@RequestMapping("/api/promotions")
+public class PromotionsController {
+
+    private final PricingService pricingService;
+    private final DtoMapper dtoMapper;
+
+    /**
+     * Constructs a new PromotionsController with the specified dependencies.
+     *
+     * @param pricingService The cart pricing service.
+     * @param dtoMapper      The entity to DTO mapper.
+     */
+    @Autowired
+    public PromotionsController(PricingService pricingService, DtoMapper dtoMapper) {
+        this.pricingService = pricingService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    /**
+     * Retrieves all promotions.
+     *
+     * @return The list of promotions.
+     */
+    @GetMapping
+    public List<PromotionDto> getPromotions() {
+        return dtoMapper.toPromotionDtos(pricingService.getPromotions());
+    }
+
+    /**
+     * Adds or replaces a promotion.
+     *
+     * @param promotion The promotion to save.
+     * @return The saved promotion.
+     * @throws IllegalArgumentException if the promotion is invalid.
+     */
+    @PostMapping
+    public PromotionDto savePromotion(@RequestBody PromotionDto promotion) {
+        return dtoMapper.toDto(pricingService.savePromotion(dtoMapper.toEntity(promotion)));
+    }
+
+    /**
+     * Deletes a promotion.
+     *
+     * @param id The ID of the promotion to delete.
+     */
+    @DeleteMapping("/{id}")
+    public void deletePromotion(@PathVariable Long id) {
+        pricingService.deletePromotion(id);
+    }
+}
@@ -0,0 +1,89 @@
+package com.atquya.intershop.controller;
+
+import com.atquya.intershop.dto.RepricingJobDto;
+import com.atquya.intershop.dto.RepricingProgress;
+import com.atquya.intershop.dto.RepricingRequest;
+import com.atquya.intershop.service.DtoMapper;
+import com.atquya.intershop.service.RepricingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * The RepricingController class handles the API endpoints for bulk price changes.
+ */
+@RestController
+@RequestMapping("/api/admin/repricing")
+public class RepricingController {
+
+    private final RepricingService repricingService;
+    private final DtoMapper dtoMapper;
+
+    /**
+     * Constructs a new RepricingController with the specified dependencies.
+     *
+     * @param repricingService The bulk repricing service.
+     * @param dtoMapper        The entity to DTO mapper.
+     */
+    @Autowired
+    public RepricingController(RepricingService repricingService, DtoMapper dtoMapper) {
+        this.repricingService = repricingService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    /**
+     * Starts a job applying a percentage or absolute adjustment to a product ID range.
+     *
+     * @param request The rule to apply.
+     * @return The started job.
+     */
+    @PostMapping
+    public RepricingJobDto startRuleJob(@RequestBody RepricingRequest request) {
+        return dtoMapper.toDto(repricingService.startRuleJob(request));
+    }
+
+    /**
+     * Starts a job setting the prices of an uploaded price list.
+     *
+     * @param priceList The new prices, keyed by product ID.
+     * @param chunkSize The number of entries updated per statement.
+     * @return The started job.
+     */
+    @PostMapping("/price-list")
+    public RepricingJobDto startPriceListJob(@RequestBody Map<Long, Double> priceList, @RequestParam(required = false) Integer chunkSize) {
+        return dtoMapper.toDto(repricingService.startPriceListJob(priceList, chunkSize));
+    }
+
+    /**
+     * Retrieves the progress of a job.
+     *
+     * @param id The ID of the job.
+     * @return The progress and throughput of the job.
+     */
+    @GetMapping("/{id}")
+    public RepricingProgress getProgress(@PathVariable Long id) {
+        return repricingService.getProgress(id);
+    }
+
+    /**
+     * Cancels a running job.
+     *
+     * @param id The ID of the job.
+     */
+    @PostMapping("/{id}/cancel")
+    public void cancel(@PathVariable Long id) {
+        repricingService.cancel(id);
+    }
+
+    /**
+     * Resumes a stopped job from its last checkpoint.
+     *
+     * @param id The ID of the job.
+     * @return The resumed job.
+     */
+    @PostMapping("/{id}/resume")
+    public RepricingJobDto resume(@PathVariable Long id) {
+        return dtoMapper.toDto(repricingService.resume(id));
+    }
+}
@@ -0,0 +1,14 @@
+package com.atquya.intershop.dto;
+
+import java.time.Instant;
+
+/**
+ * The CartItemDto record is the API representation of an item in the shopping cart.
+ *
+ * @param id           the id of the cart item
+ * @param product      the product in the cart
+ * @param quantity     the quantity of the product in the cart
+ * @param lastModified the time the cart item was last changed
+ */
+public record CartItemDto(Long id, ProductDto product, int quantity, Instant lastModified) {
+}
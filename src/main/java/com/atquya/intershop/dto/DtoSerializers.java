@@ -0,0 +1,62 @@
+package com.atquya.intershop.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * The DtoSerializers class registers hand-written Jackson serializers for the DTO records,
+ * so responses are written field by field instead of through bean introspection.
+ */
+@JsonComponent
+public class DtoSerializers {
+
+    /**
+     * Writes a ProductDto as a JSON object.
+     */
+    public static class ProductDtoSerializer extends JsonSerializer<ProductDto> {
+        @Override
+        public void serialize(ProductDto product, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeProduct(product, gen);
+        }
+    }
+
+    /**
+     * Writes a CartItemDto as a JSON object with its product nested.
+     */
+    public static class CartItemDtoSerializer extends JsonSerializer<CartItemDto> {
+        @Override
+        public void serialize(CartItemDto cartItem, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            writeId(cartItem.id(), gen);
+            gen.writeFieldName("product");
+            if (cartItem.product() != null) {
+                writeProduct(cartItem.product(), gen);
+            } else {
+                gen.writeNull();
+            }
+            gen.writeNumberField("quantity", cartItem.quantity());
+            gen.writeStringField("lastModified", cartItem.lastModified() != null ? cartItem.lastModified().toString() : null);
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeProduct(ProductDto product, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        writeId(product.id(), gen);
+        gen.writeStringField("name", product.name());
+        gen.writeNumberField("price", product.price());
+        gen.writeEndObject();
+    }
+
+    private static void writeId(Long id, JsonGenerator gen) throws IOException {
+        if (id != null) {
+            gen.writeNumberField("id", id);
+        } else {
+            gen.writeNullField("id");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.atquya.intershop.dto;
+
+/**
+ * The PriceTierDto record is the API representation of one step of a tiered quantity price.
+ *
+ * @param minQuantity the minimum quantity from which the tier applies
+ * @param unitPrice   the unit price within the tier
+ */
+public record PriceTierDto(int minQuantity, double unitPrice) {
+}
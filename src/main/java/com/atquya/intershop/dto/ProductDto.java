@@ -0,0 +1,11 @@
+package com.atquya.intershop.dto;
+
+/**
+ * The ProductDto record is the API representation of a product.
+ *
+ * @param id    the id of the product
+ * @param name  the name of the product
+ * @param price the price of the product
+ */
+public record ProductDto(Long id, String name, double price) {
+}
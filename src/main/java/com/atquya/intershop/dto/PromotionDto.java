@@ -0,0 +1,33 @@
+package com.atquya.intershop.dto;
+
+import com.atquya.intershop.entities.PromotionType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The PromotionDto record is the API representation of a promotion.
+ *
+ * @param id           the id of the promotion
+ * @param name         the name of the promotion
+ * @param type         the kind of discount granted
+ * @param active       whether the promotion is switched on, true if omitted
+ * @param startsAt     the time from which the promotion applies, or null for no start
+ * @param endsAt       the time at which the promotion stops applying, or null for no end
+ * @param productIds   the IDs of the products covered by the promotion, empty if omitted
+ * @param percentOff   the percentage taken off by a PERCENT_OFF promotion
+ * @param buyQuantity  the number of paid units of a BUY_X_GET_Y promotion
+ * @param freeQuantity the number of free units of a BUY_X_GET_Y promotion
+ * @param tiers        the quantity tiers of a TIERED promotion, empty if omitted
+ * @param bundlePrice  the price of one unit of each product of a BUNDLE promotion
+ */
+public record PromotionDto(Long id, String name, PromotionType type, Boolean active, Instant startsAt, Instant endsAt,
+                           Set<Long> productIds, double percentOff, int buyQuantity, int freeQuantity,
+                           List<PriceTierDto> tiers, double bundlePrice) {
+
+    public PromotionDto {
+        productIds = productIds != null ? productIds : Set.of();
+        tiers = tiers != null ? tiers : List.of();
+    }
+}
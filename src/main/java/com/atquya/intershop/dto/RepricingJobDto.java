@@ -0,0 +1,27 @@
+package com.atquya.intershop.dto;
+
+import com.atquya.intershop.entities.RepricingMode;
+import com.atquya.intershop.entities.RepricingStatus;
+
+import java.time.Instant;
+
+/**
+ * The RepricingJobDto record is the API representation of a repricing job, without its price list.
+ *
+ * @param id          the id of the job
+ * @param mode        the repricing mode
+ * @param amount      the percentage or absolute adjustment of a rule job
+ * @param fromId      the first product ID of a rule job
+ * @param toId        the last product ID of a rule job
+ * @param chunkSize   the number of IDs or entries per chunk
+ * @param totalChunks the number of chunks in the job
+ * @param status      the state of the job
+ * @param rowsUpdated the number of updated products as of the last finished run
+ * @param startedAt   the time the current or last run started
+ * @param finishedAt  the time the last run stopped, or null if it is running
+ * @param failure     the failure message, or null if the job did not fail
+ */
+public record RepricingJobDto(Long id, RepricingMode mode, double amount, Long fromId, Long toId, int chunkSize,
+                             int totalChunks, RepricingStatus status, long rowsUpdated, Instant startedAt,
+                             Instant finishedAt, String failure) {
+}
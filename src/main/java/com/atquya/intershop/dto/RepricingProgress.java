@@ -0,0 +1,21 @@
+package com.atquya.intershop.dto;
+
+import com.atquya.intershop.entities.RepricingStatus;
+
+import java.time.Instant;
+
+/**
+ * The RepricingProgress record reports how far a repricing job has come.
+ *
+ * @param jobId           the id of the job
+ * @param status          the state of the job
+ * @param totalChunks     the number of chunks in the job
+ * @param completedChunks the number of chunks done, over all runs of the job
+ * @param rowsUpdated     the number of products updated, over all runs of the job
+ * @param rowsPerSecond   the update throughput of the current or last run
+ * @param startedAt       the time the current or last run started
+ * @param finishedAt      the time the last run stopped, or null if it is running
+ */
+public record RepricingProgress(Long jobId, RepricingStatus status, int totalChunks, int completedChunks,
+                                long rowsUpdated, double rowsPerSecond, Instant startedAt, Instant finishedAt) {
+}
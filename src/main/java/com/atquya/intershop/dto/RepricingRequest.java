@@ -0,0 +1,15 @@
+package com.atquya.intershop.dto;
+
+import com.atquya.intershop.entities.RepricingMode;
+
+/**
+ * The RepricingRequest record describes a rule-based bulk price change over a product ID range.
+ *
+ * @param fromId    the first product ID of the range, or null for the lowest ID
+ * @param toId      the last product ID of the range, or null for the highest ID
+ * @param mode      PERCENT to scale prices by {@code amount} percent, ABSOLUTE to add {@code amount}
+ * @param amount    the percentage or amount, negative to lower prices
+ * @param chunkSize the number of IDs updated per statement, or null for the default
+ */
+public record RepricingRequest(Long fromId, Long toId, RepricingMode mode, double amount, Integer chunkSize) {
+}
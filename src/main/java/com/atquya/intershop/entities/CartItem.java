@@ -2,6 +2,8 @@ package com.atquya.intershop.entities;
 
 import jakarta.persistence.*;
 
+import java.time.Instant;
+
 /**
  * The CartItem class represents an item in a shopping cart.
  * It contains the information about the product and the quantity of that product in the cart.
@@ -17,6 +19,8 @@ public class CartItem {
 
     private int quantity;
 
+    private Instant lastModified;
+
     /**
      * Constructs an empty CartItem object.
      */
@@ -88,6 +92,24 @@ public class CartItem {
         this.quantity = quantity;
     }
 
+    /**
+     * Retrieves the time the cart item was last changed.
+     *
+     * @return the time the cart item was last changed
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Sets the time the cart item was last changed.
+     *
+     * @param lastModified the time the cart item was last changed
+     */
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
     /**
      * Returns a string representation of the CartItem object.
      *
@@ -99,6 +121,7 @@ public class CartItem {
                 "id=" + id +
                 ", product=" + product +
                 ", quantity=" + quantity +
+                ", lastModified=" + lastModified +
                 '}';
     }
 }
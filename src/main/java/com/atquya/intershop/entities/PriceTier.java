@@ -0,0 +1,66 @@
+package com.atquya.intershop.entities;
+
+import jakarta.persistence.Embeddable;
+
+/**
+ * The PriceTier class represents one step of a tiered quantity price.
+ * It contains the minimum quantity from which the tier applies and the unit price within it.
+ */
+@Embeddable
+public class PriceTier {
+    private int minQuantity;
+    private double unitPrice;
+
+    /**
+     * Constructs an empty PriceTier object.
+     */
+    public PriceTier() {
+    }
+
+    /**
+     * Constructs a PriceTier object with the specified minimum quantity and unit price.
+     *
+     * @param minQuantity the minimum quantity from which the tier applies
+     * @param unitPrice   the unit price within the tier
+     */
+    public PriceTier(int minQuantity, double unitPrice) {
+        this.minQuantity = minQuantity;
+        this.unitPrice = unitPrice;
+    }
+
+    /**
+     * Retrieves the minimum quantity from which the tier applies.
+     *
+     * @return the minimum quantity
+     */
+    public int getMinQuantity() {
+        return minQuantity;
+    }
+
+    /**
+     * Sets the minimum quantity from which the tier applies.
+     *
+     * @param minQuantity the minimum quantity
+     */
+    public void setMinQuantity(int minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    /**
+     * Retrieves the unit price within the tier.
+     *
+     * @return the unit price
+     */
+    public double getUnitPrice() {
+        return unitPrice;
+    }
+
+    /**
+     * Sets the unit price within the tier.
+     *
+     * @param unitPrice the unit price
+     */
+    public void setUnitPrice(double unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+}
@@ -0,0 +1,330 @@
+package com.atquya.intershop.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The Promotion class represents a discount rule applied when pricing the shopping cart.
+ * It contains the kind of discount, the products it covers, the parameters of the discount
+ * and the period during which it is active.
+ */
+@Entity
+public class Promotion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private PromotionType type;
+
+    private boolean active = true;
+
+    private Instant startsAt;
+
+    private Instant endsAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    private Set<Long> productIds = new HashSet<>();
+
+    private double percentOff;
+
+    private int buyQuantity;
+
+    private int freeQuantity;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @OrderColumn
+    private List<PriceTier> tiers = new ArrayList<>();
+
+    private double bundlePrice;
+
+    private Instant lastModified;
+
+    /**
+     * Constructs an empty Promotion object.
+     */
+    public Promotion() {
+    }
+
+    /**
+     * Constructs a Promotion object with the specified name, type and covered products.
+     *
+     * @param name       the name of the promotion
+     * @param type       the kind of discount granted
+     * @param productIds the IDs of the products covered by the promotion
+     */
+    public Promotion(String name, PromotionType type, Set<Long> productIds) {
+        this.name = name;
+        this.type = type;
+        this.productIds = productIds;
+    }
+
+    /**
+     * Retrieves the id of the promotion.
+     *
+     * @return the id of the promotion
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the promotion.
+     *
+     * @param id the id of the promotion
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the name of the promotion.
+     *
+     * @return the name of the promotion
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the promotion.
+     *
+     * @param name the name of the promotion
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Retrieves the kind of discount granted.
+     *
+     * @return the kind of discount
+     */
+    public PromotionType getType() {
+        return type;
+    }
+
+    /**
+     * Sets the kind of discount granted.
+     *
+     * @param type the kind of discount
+     */
+    public void setType(PromotionType type) {
+        this.type = type;
+    }
+
+    /**
+     * Checks whether the promotion is switched on.
+     *
+     * @return true if the promotion is switched on
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Switches the promotion on or off.
+     *
+     * @param active whether the promotion is switched on
+     */
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    /**
+     * Retrieves the time from which the promotion applies.
+     *
+     * @return the start time, or null if the promotion has no start
+     */
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+
+    /**
+     * Sets the time from which the promotion applies.
+     *
+     * @param startsAt the start time, or null for no start
+     */
+    public void setStartsAt(Instant startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    /**
+     * Retrieves the time at which the promotion stops applying.
+     *
+     * @return the end time, or null if the promotion has no end
+     */
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+
+    /**
+     * Sets the time at which the promotion stops applying.
+     *
+     * @param endsAt the end time, or null for no end
+     */
+    public void setEndsAt(Instant endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    /**
+     * Retrieves the IDs of the products covered by the promotion.
+     *
+     * @return the covered product IDs
+     */
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    /**
+     * Sets the IDs of the products covered by the promotion.
+     *
+     * @param productIds the covered product IDs
+     */
+    public void setProductIds(Set<Long> productIds) {
+        this.productIds = productIds;
+    }
+
+    /**
+     * Retrieves the percentage taken off by a PERCENT_OFF promotion.
+     *
+     * @return the percentage off
+     */
+    public double getPercentOff() {
+        return percentOff;
+    }
+
+    /**
+     * Sets the percentage taken off by a PERCENT_OFF promotion.
+     *
+     * @param percentOff the percentage off
+     */
+    public void setPercentOff(double percentOff) {
+        this.percentOff = percentOff;
+    }
+
+    /**
+     * Retrieves the number of paid units of a BUY_X_GET_Y promotion.
+     *
+     * @return the number of paid units
+     */
+    public int getBuyQuantity() {
+        return buyQuantity;
+    }
+
+    /**
+     * Sets the number of paid units of a BUY_X_GET_Y promotion.
+     *
+     * @param buyQuantity the number of paid units
+     */
+    public void setBuyQuantity(int buyQuantity) {
+        this.buyQuantity = buyQuantity;
+    }
+
+    /**
+     * Retrieves the number of free units of a BUY_X_GET_Y promotion.
+     *
+     * @return the number of free units
+     */
+    public int getFreeQuantity() {
+        return freeQuantity;
+    }
+
+    /**
+     * Sets the number of free units of a BUY_X_GET_Y promotion.
+     *
+     * @param freeQuantity the number of free units
+     */
+    public void setFreeQuantity(int freeQuantity) {
+        this.freeQuantity = freeQuantity;
+    }
+
+    /**
+     * Retrieves the quantity tiers of a TIERED promotion.
+     *
+     * @return the quantity tiers
+     */
+    public List<PriceTier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * Sets the quantity tiers of a TIERED promotion.
+     *
+     * @param tiers the quantity tiers
+     */
+    public void setTiers(List<PriceTier> tiers) {
+        this.tiers = tiers;
+    }
+
+    /**
+     * Retrieves the price of one unit of each product of a BUNDLE promotion.
+     *
+     * @return the bundle price
+     */
+    public double getBundlePrice() {
+        return bundlePrice;
+    }
+
+    /**
+     * Sets the price of one unit of each product of a BUNDLE promotion.
+     *
+     * @param bundlePrice the bundle price
+     */
+    public void setBundlePrice(double bundlePrice) {
+        this.bundlePrice = bundlePrice;
+    }
+
+    /**
+     * Retrieves the time the promotion was last saved.
+     *
+     * @return the last-modified time, or null if it predates last-modified tracking
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Sets the time the promotion was last saved.
+     *
+     * @param lastModified the last-modified time
+     */
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Checks whether the promotion applies at the given time.
+     *
+     * @param now the time to check
+     * @return true if the promotion is switched on and within its period
+     */
+    public boolean isActiveAt(Instant now) {
+        return active
+                && (startsAt == null || !now.isBefore(startsAt))
+                && (endsAt == null || now.isBefore(endsAt));
+    }
+
+    /**
+     * Returns a string representation of the Promotion object.
+     *
+     * @return a string representation of the Promotion object
+     */
+    @Override
+    public String toString() {
+        return "Promotion{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", type=" + type +
+                ", active=" + active +
+                ", productIds=" + productIds +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.atquya.intershop.entities;
+
+/**
+ * The PromotionType enum lists the kinds of discount a Promotion can grant.
+ */
+public enum PromotionType {
+    /**
+     * A percentage off the price of each covered product.
+     */
+    PERCENT_OFF,
+    /**
+     * For every {@code buyQuantity} units of a covered product bought, {@code freeQuantity} more are free.
+     */
+    BUY_X_GET_Y,
+    /**
+     * A lower unit price once the quantity of a covered product reaches a tier.
+     */
+    TIERED,
+    /**
+     * A fixed price for one unit of each covered product bought together.
+     */
+    BUNDLE
+}
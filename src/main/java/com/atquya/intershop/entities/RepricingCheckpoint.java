@@ -0,0 +1,76 @@
+package com.atquya.intershop.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * The RepricingCheckpoint class records a chunk of a RepricingJob as done.
+ * It is written in the same transaction as the chunk's update, so a resumed job never applies a chunk twice.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "chunk_index"}))
+public class RepricingCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long jobId;
+
+    private int chunkIndex;
+
+    private int rowsUpdated;
+
+    /**
+     * Constructs an empty RepricingCheckpoint object.
+     */
+    public RepricingCheckpoint() {
+    }
+
+    /**
+     * Constructs a RepricingCheckpoint object for the specified chunk.
+     *
+     * @param jobId       the id of the job
+     * @param chunkIndex  the index of the completed chunk
+     * @param rowsUpdated the number of products the chunk updated
+     */
+    public RepricingCheckpoint(Long jobId, int chunkIndex, int rowsUpdated) {
+        this.jobId = jobId;
+        this.chunkIndex = chunkIndex;
+        this.rowsUpdated = rowsUpdated;
+    }
+
+    /**
+     * Retrieves the id of the checkpoint.
+     *
+     * @return the id of the checkpoint
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the id of the job.
+     *
+     * @return the id of the job
+     */
+    public Long getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Retrieves the index of the completed chunk.
+     *
+     * @return the index of the chunk
+     */
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    /**
+     * Retrieves the number of products the chunk updated.
+     *
+     * @return the number of updated products
+     */
+    public int getRowsUpdated() {
+        return rowsUpdated;
+    }
+}
@@ -0,0 +1,288 @@
+package com.atquya.intershop.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The RepricingJob class represents a bulk change of product prices.
+ * It contains the rule or price list to apply, how the product ID space is split into chunks,
+ * and the state of the job. Completed chunks are recorded as RepricingCheckpoint rows.
+ */
+@Entity
+public class RepricingJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private RepricingMode mode;
+
+    private double amount;
+
+    private Long fromId;
+
+    private Long toId;
+
+    private int chunkSize;
+
+    private int totalChunks;
+
+    @Enumerated(EnumType.STRING)
+    private RepricingStatus status;
+
+    private long rowsUpdated;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String failure;
+
+    @ElementCollection
+    @MapKeyColumn(name = "product_id")
+    @Column(name = "price")
+    private Map<Long, Double> priceList = new HashMap<>();
+
+    /**
+     * Constructs an empty RepricingJob object.
+     */
+    public RepricingJob() {
+    }
+
+    /**
+     * Retrieves the id of the job.
+     *
+     * @return the id of the job
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the job.
+     *
+     * @param id the id of the job
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the way the job changes prices.
+     *
+     * @return the repricing mode
+     */
+    public RepricingMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the way the job changes prices.
+     *
+     * @param mode the repricing mode
+     */
+    public void setMode(RepricingMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Retrieves the percentage or amount applied to each price.
+     *
+     * @return the adjustment
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * Sets the percentage or amount applied to each price.
+     *
+     * @param amount the adjustment
+     */
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * Retrieves the first product ID of the range.
+     *
+     * @return the first product ID
+     */
+    public Long getFromId() {
+        return fromId;
+    }
+
+    /**
+     * Sets the first product ID of the range.
+     *
+     * @param fromId the first product ID
+     */
+    public void setFromId(Long fromId) {
+        this.fromId = fromId;
+    }
+
+    /**
+     * Retrieves the last product ID of the range.
+     *
+     * @return the last product ID
+     */
+    public Long getToId() {
+        return toId;
+    }
+
+    /**
+     * Sets the last product ID of the range.
+     *
+     * @param toId the last product ID
+     */
+    public void setToId(Long toId) {
+        this.toId = toId;
+    }
+
+    /**
+     * Retrieves the number of IDs, or price list entries, per chunk.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of IDs, or price list entries, per chunk.
+     *
+     * @param chunkSize the chunk size
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Retrieves the number of chunks in the job.
+     *
+     * @return the number of chunks
+     */
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    /**
+     * Sets the number of chunks in the job.
+     *
+     * @param totalChunks the number of chunks
+     */
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    /**
+     * Retrieves the state of the job.
+     *
+     * @return the state of the job
+     */
+    public RepricingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the state of the job.
+     *
+     * @param status the state of the job
+     */
+    public void setStatus(RepricingStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Retrieves the number of products updated so far.
+     *
+     * @return the number of updated products
+     */
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    /**
+     * Sets the number of products updated so far.
+     *
+     * @param rowsUpdated the number of updated products
+     */
+    public void setRowsUpdated(long rowsUpdated) {
+        this.rowsUpdated = rowsUpdated;
+    }
+
+    /**
+     * Retrieves the time the job was last started or resumed.
+     *
+     * @return the start time
+     */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Sets the time the job was last started or resumed.
+     *
+     * @param startedAt the start time
+     */
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Retrieves the time the job stopped.
+     *
+     * @return the finish time, or null if the job is running
+     */
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets the time the job stopped.
+     *
+     * @param finishedAt the finish time
+     */
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Retrieves the reason the job failed.
+     *
+     * @return the failure message, or null if the job did not fail
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Sets the reason the job failed.
+     *
+     * @param failure the failure message
+     */
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Retrieves the new prices of a PRICE_LIST job, keyed by product ID.
+     *
+     * @return the price list
+     */
+    public Map<Long, Double> getPriceList() {
+        return priceList;
+    }
+
+    /**
+     * Sets the new prices of a PRICE_LIST job, keyed by product ID.
+     *
+     * @param priceList the price list
+     */
+    public void setPriceList(Map<Long, Double> priceList) {
+        this.priceList = priceList;
+    }
+}
@@ -0,0 +1,19 @@
+package com.atquya.intershop.entities;
+
+/**
+ * The RepricingMode enum lists the ways a RepricingJob changes prices.
+ */
+public enum RepricingMode {
+    /**
+     * Scales the prices in an ID range by a percentage.
+     */
+    PERCENT,
+    /**
+     * Adds an amount to the prices in an ID range, never going below zero.
+     */
+    ABSOLUTE,
+    /**
+     * Sets the prices of the products in an uploaded price list.
+     */
+    PRICE_LIST
+}
@@ -0,0 +1,11 @@
+package com.atquya.intershop.entities;
+
+/**
+ * The RepricingStatus enum lists the states of a RepricingJob.
+ */
+public enum RepricingStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
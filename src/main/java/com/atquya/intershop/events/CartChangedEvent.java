@@ -0,0 +1,10 @@
+package com.atquya.intershop.events;
+
+/**
+ * The CartChangedEvent record is published when an item of the shopping cart is added, changed or removed.
+ *
+ * @param cartItemId the ID of the changed cart item, or null if several items expired at once
+ * @param quantity   the new quantity of the cart item, or 0 if it was removed
+ */
+public record CartChangedEvent(Long cartItemId, int quantity) {
+}
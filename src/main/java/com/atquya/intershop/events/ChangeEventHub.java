@@ -0,0 +1,377 @@
+package com.atquya.intershop.events;
+
+import com.atquya.intershop.service.DtoMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ChangeEventHub class fans committed cart and product changes out to subscribers.
+ * Every subscriber has a bounded buffer drained by a small shared pool of dispatcher threads,
+ * so idle subscribers hold no thread. A subscriber whose buffer fills up is too slow to keep up
+ * and is disconnected rather than allowed to hold back the others.
+ * Writes block, so a watchdog also disconnects a subscriber whose write has not returned within the
+ * write timeout; the dispatcher thread stuck in that write is replaced by a new one until the write
+ * returns, so stalled connections never take dispatcher threads away from healthy subscribers.
+ * The watchdog thread also sends the heartbeats.
+ */
+@Component
+public class ChangeEventHub {
+    private static final int IDLE = 0;
+    private static final int WRITING = 1;
+    private static final int TIMED_OUT = 2;
+
+    private final DtoMapper dtoMapper;
+    private final int bufferSize;
+    private final int dispatcherThreads;
+    private final int maxStalledWrites;
+    private final long writeTimeoutNanos;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService watchdog;
+    private int stalledWrites;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Set<Subscription> cartSubscriptions = ConcurrentHashMap.newKeySet();
+    private final Set<Subscription> writing = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscription>> productSubscriptions = new ConcurrentHashMap<>();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    /**
+     * Constructs a ChangeEventHub.
+     *
+     * @param dtoMapper         the mapper for product payloads
+     * @param bufferSize        the number of notifications buffered per subscriber
+     * @param dispatcherThreads the number of threads writing to subscribers
+     * @param heartbeatInterval the time between two heartbeats
+     * @param writeTimeout      how long a write may block before its subscriber is disconnected
+     */
+    @Autowired
+    public ChangeEventHub(DtoMapper dtoMapper,
+                          @Value("${intershop.events.buffer-size:64}") int bufferSize,
+                          @Value("${intershop.events.dispatcher-threads:4}") int dispatcherThreads,
+                          @Value("${intershop.events.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                          @Value("${intershop.events.write-timeout:PT10S}") Duration writeTimeout) {
+        this.dtoMapper = dtoMapper;
+        this.bufferSize = bufferSize;
+        this.dispatcherThreads = dispatcherThreads;
+        this.maxStalledWrites = dispatcherThreads * 16;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "change-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher.allowCoreThreadTimeOut(true);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMillis = Math.max(10, writeTimeout.toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::disconnectStalledWrites, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        watchdog.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes to changes of the cart and of a set of products.
+     *
+     * @param cart       whether to receive cart changes
+     * @param productIds the IDs of the products to receive changes of
+     * @param sink       the connection to write notifications to
+     * @return the subscription
+     */
+    public Subscription subscribe(boolean cart, Collection<Long> productIds, ChangeSink sink) {
+        Subscription subscription = new Subscription(cart, Set.copyOf(productIds), sink, bufferSize);
+        subscriptions.add(subscription);
+        if (cart) {
+            cartSubscriptions.add(subscription);
+        }
+        for (Long productId : subscription.productIds) {
+            productSubscriptions.compute(productId, (id, subscribers) -> {
+                Set<Subscription> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscription);
+                return updated;
+            });
+        }
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription. Notifications still buffered for it are discarded.
+     *
+     * @param subscription the subscription to remove
+     */
+    public void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        subscription.closed = true;
+        cartSubscriptions.remove(subscription);
+        for (Long productId : subscription.productIds) {
+            productSubscriptions.computeIfPresent(productId, (id, subscribers) -> {
+                subscribers.remove(subscription);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        subscription.queue.clear();
+    }
+
+    /**
+     * Pushes a committed cart change to the cart subscribers.
+     *
+     * @param event the cart change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        ChangeNotification notification = new ChangeNotification("cart", event);
+        for (Subscription subscription : cartSubscriptions) {
+            offer(subscription, notification);
+        }
+    }
+
+    /**
+     * Pushes a committed product change to the subscribers of the product.
+     * A change without a product ID, such as a bulk repricing, goes to every product subscriber.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productId() == null) {
+            ChangeNotification notification = new ChangeNotification("catalog", Map.of("changed", true));
+            for (Subscription subscription : subscriptions) {
+                if (!subscription.productIds.isEmpty()) {
+                    offer(subscription, notification);
+                }
+            }
+            return;
+        }
+        Set<Subscription> subscribers = productSubscriptions.get(event.productId());
+        if (subscribers == null) {
+            return;
+        }
+        Object data = event.product() != null
+                ? dtoMapper.toDto(event.product())
+                : Map.of("id", event.productId(), "deleted", true);
+        ChangeNotification notification = new ChangeNotification("product", data);
+        for (Subscription subscription : subscribers) {
+            offer(subscription, notification);
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber, keeping idle connections open and detecting dead ones.
+     */
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            offer(subscription, ChangeNotification.HEARTBEAT);
+        }
+    }
+
+    /**
+     * Retrieves the hub counters.
+     *
+     * @return the current counters
+     */
+    public Stats getStats() {
+        return new Stats(subscriptions.size(), delivered.sum(), droppedSubscribers.sum());
+    }
+
+    /**
+     * Stops the dispatcher threads and closes every subscription.
+     */
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        for (Subscription subscription : subscriptions) {
+            unsubscribe(subscription);
+            closeSink(subscription);
+        }
+    }
+
+    private void offer(Subscription subscription, ChangeNotification notification) {
+        if (subscription.closed) {
+            return;
+        }
+        if (!subscription.queue.offer(notification)) {
+            droppedSubscribers.increment();
+            unsubscribe(subscription);
+            // Closing waits for a write in progress, so leave that case to the writing thread.
+            if (subscription.writeState.get() != WRITING) {
+                closeSink(subscription);
+            }
+            return;
+        }
+        if (subscription.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        do {
+            ChangeNotification notification;
+            while ((notification = subscription.queue.poll()) != null) {
+                if (subscription.closed) {
+                    closeSink(subscription);
+                    return;
+                }
+                synchronized (subscription.writeLock) {
+                    subscription.writer = Thread.currentThread();
+                }
+                subscription.writeStartedAt = System.nanoTime();
+                subscription.writeState.set(WRITING);
+                writing.add(subscription);
+                boolean failed = false;
+                try {
+                    subscription.sink.send(notification);
+                } catch (IOException | RuntimeException e) {
+                    failed = true;
+                }
+                writing.remove(subscription);
+                boolean timedOut;
+                synchronized (subscription.writeLock) {
+                    subscription.writer = null;
+                    timedOut = !subscription.writeState.compareAndSet(WRITING, IDLE);
+                    if (timedOut) {
+                        // The watchdog gave up on this write and replaced this thread; any interrupt it sent
+                        // was sent under this lock, so it is cleared here before the thread moves on.
+                        Thread.interrupted();
+                    }
+                }
+                if (timedOut) {
+                    releaseStalledThread();
+                    closeSink(subscription);
+                    return;
+                }
+                if (failed) {
+                    unsubscribe(subscription);
+                    closeSink(subscription);
+                    return;
+                }
+                delivered.increment();
+                if (subscription.closed) {
+                    closeSink(subscription);
+                    return;
+                }
+            }
+            subscription.scheduled.set(false);
+        } while (!subscription.queue.isEmpty() && subscription.scheduled.compareAndSet(false, true));
+    }
+
+    private void closeSink(Subscription subscription) {
+        if (subscription.sinkClosed.compareAndSet(false, true)) {
+            subscription.sink.close();
+        }
+    }
+
+    private void disconnectStalledWrites() {
+        long now = System.nanoTime();
+        for (Subscription subscription : writing) {
+            if (now - subscription.writeStartedAt > writeTimeoutNanos
+                    && subscription.writeState.compareAndSet(WRITING, TIMED_OUT)) {
+                writing.remove(subscription);
+                if (subscriptions.contains(subscription)) {
+                    droppedSubscribers.increment();
+                    unsubscribe(subscription);
+                }
+                replaceStalledThread();
+                synchronized (subscription.writeLock) {
+                    // A writer still set means the timed-out write has not returned yet.
+                    Thread writer = subscription.writer;
+                    if (writer != null) {
+                        writer.interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized void replaceStalledThread() {
+        if (stalledWrites < maxStalledWrites) {
+            stalledWrites++;
+            dispatcher.setMaximumPoolSize(dispatcherThreads + stalledWrites);
+            dispatcher.setCorePoolSize(dispatcherThreads + stalledWrites);
+        }
+    }
+
+    private synchronized void releaseStalledThread() {
+        if (stalledWrites > 0) {
+            stalledWrites--;
+            dispatcher.setCorePoolSize(dispatcherThreads + stalledWrites);
+            dispatcher.setMaximumPoolSize(dispatcherThreads + stalledWrites);
+        }
+    }
+
+    /**
+     * The Subscription class is one subscriber's interest and its buffer of pending notifications.
+     */
+    public static final class Subscription {
+        private final boolean cart;
+        private final Set<Long> productIds;
+        private final ChangeSink sink;
+        private final ArrayBlockingQueue<ChangeNotification> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger writeState = new AtomicInteger(IDLE);
+        private final AtomicBoolean sinkClosed = new AtomicBoolean();
+        private final Object writeLock = new Object();
+        private volatile long writeStartedAt;
+        private Thread writer; // guarded by writeLock, set only while a write is in progress
+        private volatile boolean closed;
+
+        Subscription(boolean cart, Set<Long> productIds, ChangeSink sink, int bufferSize) {
+            this.cart = cart;
+            this.productIds = productIds;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Checks whether the subscription receives cart changes.
+         *
+         * @return true if the subscription receives cart changes
+         */
+        public boolean isCart() {
+            return cart;
+        }
+
+        /**
+         * Retrieves the IDs of the products the subscription receives changes of.
+         *
+         * @return the subscribed product IDs
+         */
+        public Set<Long> getProductIds() {
+            return productIds;
+        }
+    }
+
+    /**
+     * Counters describing the hub.
+     *
+     * @param subscribers        the number of open subscriptions
+     * @param delivered          the number of notifications written to subscribers
+     * @param droppedSubscribers the number of subscribers disconnected for falling behind
+     */
+    public record Stats(int subscribers, long delivered, long droppedSubscribers) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.atquya.intershop.events;
+
+/**
+ * The ChangeNotification record is a message pushed to change subscribers.
+ *
+ * @param type the kind of change: {@code cart}, {@code product}, {@code catalog}, or {@code heartbeat}
+ * @param data the payload of the change, or null for a heartbeat
+ */
+public record ChangeNotification(String type, Object data) {
+    /**
+     * The notification sent periodically to keep idle connections open.
+     */
+    public static final ChangeNotification HEARTBEAT = new ChangeNotification("heartbeat", null);
+}
@@ -0,0 +1,22 @@
+package com.atquya.intershop.events;
+
+import java.io.IOException;
+
+/**
+ * The ChangeSink interface is the connection a subscriber receives change notifications on.
+ */
+public interface ChangeSink {
+
+    /**
+     * Writes a notification to the subscriber.
+     *
+     * @param notification the notification to write
+     * @throws IOException if the subscriber is gone
+     */
+    void send(ChangeNotification notification) throws IOException;
+
+    /**
+     * Closes the connection to the subscriber.
+     */
+    void close();
+}
@@ -0,0 +1,13 @@
+package com.atquya.intershop.events;
+
+import com.atquya.intershop.entities.Product;
+
+/**
+ * The ProductChangedEvent record is published when a product is added, updated or deleted.
+ * A bulk repricing job publishes a single event with neither an ID nor a product.
+ *
+ * @param productId the ID of the changed product, or null if many products changed
+ * @param product   the saved product, or null if it was deleted or many products changed
+ */
+public record ProductChangedEvent(Long productId, Product product) {
+}
@@ -0,0 +1,12 @@
+package com.atquya.intershop.pricing;
+
+/**
+ * The Adjustment record is a discount a promotion grants on one or more cart lines.
+ *
+ * @param promotionId the ID of the promotion granting the discount
+ * @param description the name of the promotion
+ * @param productIds  the IDs of the products whose lines the discount claims
+ * @param amount      the amount taken off the cart
+ */
+public record Adjustment(long promotionId, String description, long[] productIds, double amount) {
+}
@@ -0,0 +1,34 @@
+package com.atquya.intershop.pricing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The BundlePriceRule record sells one unit of each covered product together for a fixed price.
+ * The bundle applies as many times as the scarcest covered product allows.
+ *
+ * @param promotionId the ID of the promotion
+ * @param description the name of the promotion
+ * @param productIds  the IDs of the products in the bundle
+ * @param bundlePrice the price of one bundle
+ */
+record BundlePriceRule(long promotionId, String description, long[] productIds, double bundlePrice) implements PricingRule {
+
+    @Override
+    public void evaluate(Map<Long, CartLine> lines, List<Adjustment> out) {
+        int bundles = Integer.MAX_VALUE;
+        double listPrice = 0;
+        for (long productId : productIds) {
+            CartLine line = lines.get(productId);
+            if (line == null) {
+                return;
+            }
+            bundles = Math.min(bundles, line.quantity());
+            listPrice += line.unitPrice();
+        }
+        double amount = bundles * (listPrice - bundlePrice);
+        if (bundles > 0 && amount > 0) {
+            out.add(new Adjustment(promotionId, description, productIds, amount));
+        }
+    }
+}
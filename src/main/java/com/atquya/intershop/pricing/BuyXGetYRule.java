@@ -0,0 +1,30 @@
+package com.atquya.intershop.pricing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The BuyXGetYRule record makes {@code freeQuantity} units free for every {@code buyQuantity} units paid on a covered line.
+ *
+ * @param promotionId  the ID of the promotion
+ * @param description  the name of the promotion
+ * @param productIds   the IDs of the covered products
+ * @param buyQuantity  the number of paid units per group
+ * @param freeQuantity the number of free units per group
+ */
+record BuyXGetYRule(long promotionId, String description, long[] productIds, int buyQuantity, int freeQuantity) implements PricingRule {
+
+    @Override
+    public void evaluate(Map<Long, CartLine> lines, List<Adjustment> out) {
+        for (long productId : productIds) {
+            CartLine line = lines.get(productId);
+            if (line != null) {
+                int groups = line.quantity() / (buyQuantity + freeQuantity);
+                if (groups > 0) {
+                    double amount = groups * freeQuantity * line.unitPrice();
+                    out.add(new Adjustment(promotionId, description, new long[]{productId}, amount));
+                }
+            }
+        }
+    }
+}
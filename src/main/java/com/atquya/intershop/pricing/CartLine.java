@@ -0,0 +1,11 @@
+package com.atquya.intershop.pricing;
+
+/**
+ * The CartLine record is the quantity of one product in the cart, summed over its cart items.
+ *
+ * @param productId the ID of the product
+ * @param quantity  the total quantity of the product in the cart
+ * @param unitPrice the list price of one unit of the product
+ */
+public record CartLine(long productId, int quantity, double unitPrice) {
+}
@@ -0,0 +1,15 @@
+package com.atquya.intershop.pricing;
+
+import java.time.Instant;
+
+/**
+ * The CartRevision record is a fingerprint of the stored shopping cart.
+ * It changes when a cart item is added, removed or touched, or when the price of a product in the cart changes,
+ * whichever node made the change.
+ *
+ * @param items        the number of cart items
+ * @param lastModified the latest last-modified time of a cart item, or null if the cart is empty
+ * @param listTotal    the sum of quantity times product price over the cart items, or null if the cart is empty
+ */
+public record CartRevision(Long items, Instant lastModified, Double listTotal) {
+}
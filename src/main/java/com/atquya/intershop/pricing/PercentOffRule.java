@@ -0,0 +1,26 @@
+package com.atquya.intershop.pricing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The PercentOffRule record takes a percentage off every covered line.
+ *
+ * @param promotionId the ID of the promotion
+ * @param description the name of the promotion
+ * @param productIds  the IDs of the covered products
+ * @param percent     the percentage taken off
+ */
+record PercentOffRule(long promotionId, String description, long[] productIds, double percent) implements PricingRule {
+
+    @Override
+    public void evaluate(Map<Long, CartLine> lines, List<Adjustment> out) {
+        for (long productId : productIds) {
+            CartLine line = lines.get(productId);
+            if (line != null) {
+                double amount = line.unitPrice() * line.quantity() * percent / 100;
+                out.add(new Adjustment(promotionId, description, new long[]{productId}, amount));
+            }
+        }
+    }
+}
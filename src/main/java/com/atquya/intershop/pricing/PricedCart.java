@@ -0,0 +1,14 @@
+package com.atquya.intershop.pricing;
+
+import java.util.List;
+
+/**
+ * The PricedCart record is the shopping cart with promotions applied.
+ *
+ * @param subtotal    the list price of the cart
+ * @param discount    the total amount taken off by promotions
+ * @param total       the price to pay
+ * @param adjustments the discounts applied
+ */
+public record PricedCart(double subtotal, double discount, double total, List<Adjustment> adjustments) {
+}
@@ -0,0 +1,203 @@
+package com.atquya.intershop.pricing;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.PriceTier;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.entities.Promotion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The PricingPlan class is the set of active promotions compiled for evaluation.
+ * Rules are indexed by product ID, so pricing a cart only evaluates the rules covering its products.
+ * When several discounts claim the same cart line, the largest one wins.
+ * A plan is immutable and stays valid until the next promotion in it starts or ends.
+ */
+public final class PricingPlan {
+    private static final Comparator<Adjustment> LARGEST_FIRST = Comparator.comparingDouble(Adjustment::amount).reversed();
+
+    private final PricingRule[] rules;
+    private final Map<Long, int[]> rulesByProduct;
+    private final Instant validUntil;
+
+    private PricingPlan(PricingRule[] rules, Map<Long, int[]> rulesByProduct, Instant validUntil) {
+        this.rules = rules;
+        this.rulesByProduct = rulesByProduct;
+        this.validUntil = validUntil;
+    }
+
+    /**
+     * Compiles the promotions active at the given time into a plan.
+     *
+     * @param promotions the candidate promotions
+     * @param now        the time the plan is compiled for
+     * @return the compiled plan
+     * @throws IllegalArgumentException if an active promotion is invalid
+     */
+    public static PricingPlan compile(Collection<Promotion> promotions, Instant now) {
+        List<PricingRule> rules = new ArrayList<>();
+        Map<Long, List<Integer>> index = new HashMap<>();
+        Instant validUntil = Instant.MAX;
+        for (Promotion promotion : promotions) {
+            if (promotion.getStartsAt() != null && promotion.getStartsAt().isAfter(now) && promotion.getStartsAt().isBefore(validUntil)) {
+                validUntil = promotion.getStartsAt();
+            }
+            if (!promotion.isActiveAt(now)) {
+                continue;
+            }
+            if (promotion.getEndsAt() != null && promotion.getEndsAt().isBefore(validUntil)) {
+                validUntil = promotion.getEndsAt();
+            }
+            PricingRule rule = compileRule(promotion);
+            for (long productId : rule.productIds()) {
+                index.computeIfAbsent(productId, id -> new ArrayList<>()).add(rules.size());
+            }
+            rules.add(rule);
+        }
+        Map<Long, int[]> rulesByProduct = new HashMap<>(index.size() * 2);
+        index.forEach((productId, ruleIndexes) -> rulesByProduct.put(productId, ruleIndexes.stream().mapToInt(Integer::intValue).toArray()));
+        return new PricingPlan(rules.toArray(new PricingRule[0]), rulesByProduct, validUntil);
+    }
+
+    /**
+     * Compiles a single promotion into a rule.
+     *
+     * @param promotion the promotion to compile
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the promotion is invalid
+     */
+    public static PricingRule compileRule(Promotion promotion) {
+        if (promotion.getType() == null) {
+            throw new IllegalArgumentException("Promotion has no type: " + promotion);
+        }
+        if (promotion.getProductIds() == null || promotion.getProductIds().isEmpty()) {
+            throw new IllegalArgumentException("Promotion covers no products: " + promotion);
+        }
+        long id = promotion.getId() != null ? promotion.getId() : 0;
+        String name = promotion.getName();
+        long[] productIds = promotion.getProductIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        switch (promotion.getType()) {
+            case PERCENT_OFF -> {
+                if (promotion.getPercentOff() <= 0 || promotion.getPercentOff() > 100) {
+                    throw new IllegalArgumentException("Percentage must be in (0, 100]: " + promotion.getPercentOff());
+                }
+                return new PercentOffRule(id, name, productIds, promotion.getPercentOff());
+            }
+            case BUY_X_GET_Y -> {
+                if (promotion.getBuyQuantity() < 1 || promotion.getFreeQuantity() < 1) {
+                    throw new IllegalArgumentException("Buy and free quantities must be positive: " + promotion);
+                }
+                return new BuyXGetYRule(id, name, productIds, promotion.getBuyQuantity(), promotion.getFreeQuantity());
+            }
+            case TIERED -> {
+                List<PriceTier> tiers = new ArrayList<>(promotion.getTiers());
+                if (tiers.isEmpty() || tiers.stream().anyMatch(tier -> tier.getMinQuantity() < 1 || tier.getUnitPrice() < 0)) {
+                    throw new IllegalArgumentException("Tiers must have a positive minimum quantity and a non-negative price: " + promotion);
+                }
+                tiers.sort(Comparator.comparingInt(PriceTier::getMinQuantity).reversed());
+                return new TieredPriceRule(id, name, productIds,
+                        tiers.stream().mapToInt(PriceTier::getMinQuantity).toArray(),
+                        tiers.stream().mapToDouble(PriceTier::getUnitPrice).toArray());
+            }
+            case BUNDLE -> {
+                if (productIds.length < 2 || promotion.getBundlePrice() < 0) {
+                    throw new IllegalArgumentException("A bundle needs two or more products and a non-negative price: " + promotion);
+                }
+                return new BundlePriceRule(id, name, productIds, promotion.getBundlePrice());
+            }
+            default -> throw new IllegalArgumentException("Unsupported promotion type: " + promotion.getType());
+        }
+    }
+
+    /**
+     * Checks whether the plan still reflects the promotions active at the given time.
+     *
+     * @param now the time to check
+     * @return true if no promotion in the plan has started or ended since it was compiled
+     */
+    public boolean isValidAt(Instant now) {
+        return now.isBefore(validUntil);
+    }
+
+    /**
+     * Retrieves the number of compiled rules.
+     *
+     * @return the number of rules
+     */
+    public int ruleCount() {
+        return rules.length;
+    }
+
+    /**
+     * Prices the cart items with the plan's promotions applied.
+     *
+     * @param cartItems the cart items to price
+     * @return the priced cart
+     */
+    public PricedCart price(List<CartItem> cartItems) {
+        Map<Long, CartLine> lines = new HashMap<>(cartItems.size() * 2);
+        double subtotal = 0;
+        for (CartItem cartItem : cartItems) {
+            Product product = cartItem.getProduct();
+            if (product == null || product.getId() == null) {
+                continue;
+            }
+            long productId = product.getId();
+            lines.merge(productId, new CartLine(productId, cartItem.getQuantity(), product.getPrice()),
+                    (a, b) -> new CartLine(productId, a.quantity() + b.quantity(), a.unitPrice()));
+            subtotal += product.getPrice() * cartItem.getQuantity();
+        }
+
+        List<Adjustment> candidates = new ArrayList<>();
+        BitSet evaluated = new BitSet(rules.length);
+        for (Long productId : lines.keySet()) {
+            int[] ruleIndexes = rulesByProduct.get(productId);
+            if (ruleIndexes == null) {
+                continue;
+            }
+            for (int ruleIndex : ruleIndexes) {
+                if (!evaluated.get(ruleIndex)) {
+                    evaluated.set(ruleIndex);
+                    rules[ruleIndex].evaluate(lines, candidates);
+                }
+            }
+        }
+
+        candidates.sort(LARGEST_FIRST);
+        List<Adjustment> applied = new ArrayList<>();
+        Set<Long> claimed = new HashSet<>();
+        double discount = 0;
+        for (Adjustment candidate : candidates) {
+            if (isUnclaimed(candidate, claimed)) {
+                for (long productId : candidate.productIds()) {
+                    claimed.add(productId);
+                }
+                applied.add(candidate);
+                discount += candidate.amount();
+            }
+        }
+        return new PricedCart(roundToCents(subtotal), roundToCents(discount), roundToCents(subtotal - discount), applied);
+    }
+
+    private static boolean isUnclaimed(Adjustment adjustment, Set<Long> claimed) {
+        for (long productId : adjustment.productIds()) {
+            if (claimed.contains(productId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double roundToCents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.atquya.intershop.pricing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The PricingRule interface is a promotion compiled for evaluation.
+ * Rules are indexed by the products they cover and only evaluated against carts containing one of them.
+ */
+public interface PricingRule {
+
+    /**
+     * Retrieves the IDs of the products the rule covers.
+     *
+     * @return the covered product IDs
+     */
+    long[] productIds();
+
+    /**
+     * Adds the discounts the rule grants on the cart to the output list.
+     *
+     * @param lines the cart lines, keyed by product ID
+     * @param out   the list receiving the adjustments
+     */
+    void evaluate(Map<Long, CartLine> lines, List<Adjustment> out);
+}
@@ -0,0 +1,14 @@
+package com.atquya.intershop.pricing;
+
+import java.time.Instant;
+
+/**
+ * The PromotionsRevision record is a fingerprint of the stored promotions.
+ * It changes when a promotion is created, saved or deleted, whichever node made the change.
+ *
+ * @param promotions   the number of promotions
+ * @param maxId        the highest promotion ID, or null if there are none
+ * @param lastModified the latest last-modified time of a promotion, or null if none was saved since tracking began
+ */
+public record PromotionsRevision(Long promotions, Long maxId, Instant lastModified) {
+}
@@ -0,0 +1,35 @@
+package com.atquya.intershop.pricing;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TieredPriceRule record lowers the unit price of a covered line once its quantity reaches a tier.
+ *
+ * @param promotionId   the ID of the promotion
+ * @param description   the name of the promotion
+ * @param productIds    the IDs of the covered products
+ * @param minQuantities the minimum quantity of each tier, descending
+ * @param unitPrices    the unit price of each tier, in the same order
+ */
+record TieredPriceRule(long promotionId, String description, long[] productIds, int[] minQuantities, double[] unitPrices) implements PricingRule {
+
+    @Override
+    public void evaluate(Map<Long, CartLine> lines, List<Adjustment> out) {
+        for (long productId : productIds) {
+            CartLine line = lines.get(productId);
+            if (line == null) {
+                continue;
+            }
+            for (int tier = 0; tier < minQuantities.length; tier++) {
+                if (line.quantity() >= minQuantities[tier]) {
+                    double amount = (line.unitPrice() - unitPrices[tier]) * line.quantity();
+                    if (amount > 0) {
+                        out.add(new Adjustment(promotionId, description, new long[]{productId}, amount));
+                    }
+                    break;
+                }
+            }
+        }
+    }
+}
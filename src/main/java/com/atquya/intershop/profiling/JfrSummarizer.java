@@ -0,0 +1,227 @@
+package com.atquya.intershop.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The JfrSummarizer class attributes the samples of a JFR recording to endpoints and service methods.
+ * A first pass collects the RequestEvent and ServiceCallEvent spans per thread; a second pass assigns
+ * every execution sample, allocation sample, monitor or park wait and MySQL socket read or write to the
+ * innermost span open on its thread at that time. Attributing by thread and time rather than by stack
+ * frames keeps the result correct when deep framework stacks are truncated by JFR's stack depth limit.
+ * <p>
+ * Work a request hands to another thread is not attributed to it: product lookups fetched on the
+ * {@code product-loader} threads and repricing chunks run on the fork-join pool open no span, so their CPU,
+ * allocations and JDBC time appear in no entry. The request thread's park while it waits for such work in
+ * {@code CompletableFuture.join()} or {@code get()} is not counted as a lock wait either, since it is not
+ * contention; that time only shows in the request's total.
+ */
+public final class JfrSummarizer {
+    private static final String REQUEST = "intershop.Request";
+    private static final String SERVICE_CALL = "intershop.ServiceCall";
+    private static final String JDBC_DRIVER_PACKAGE = "com.mysql.";
+    private static final String COMPLETABLE_FUTURE = "java.util.concurrent.CompletableFuture";
+    private static final int MAX_ENCLOSING_SPANS = 32;
+
+    private JfrSummarizer() {
+    }
+
+    /**
+     * Summarizes a recording file.
+     *
+     * @param file the recording
+     * @return the usage per endpoint and per service method
+     * @throws IOException if the recording can not be read
+     */
+    public static ProfileSummary summarize(Path file) throws IOException {
+        Map<Long, List<Span>> requests = new HashMap<>();
+        Map<Long, List<Span>> serviceCalls = new HashMap<>();
+        Map<String, Usage> endpoints = new HashMap<>();
+        Map<String, Usage> serviceMethods = new HashMap<>();
+        Instant start = null;
+        Instant end = null;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (start == null || event.getStartTime().isBefore(start)) {
+                    start = event.getStartTime();
+                }
+                if (end == null || event.getEndTime().isAfter(end)) {
+                    end = event.getEndTime();
+                }
+                String type = event.getEventType().getName();
+                if (REQUEST.equals(type)) {
+                    String name = event.getString("method") + " " + event.getString("route");
+                    addSpan(requests, endpoints, event, name, !event.getBoolean("asyncDispatch"));
+                } else if (SERVICE_CALL.equals(type)) {
+                    String name = event.getString("service") + "." + event.getString("method");
+                    addSpan(serviceCalls, serviceMethods, event, name, true);
+                }
+            }
+        }
+        requests.values().forEach(spans -> spans.sort(Comparator.comparingLong(Span::start)));
+        serviceCalls.values().forEach(spans -> spans.sort(Comparator.comparingLong(Span::start)));
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> attribute(event, "sampledThread", requests, serviceCalls,
+                            usage -> usage.cpuSamples++);
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        attribute(event, "eventThread", requests, serviceCalls, usage -> usage.allocatedBytes += weight);
+                    }
+                    case "jdk.JavaMonitorEnter" -> {
+                        long nanos = event.getDuration().toNanos();
+                        attribute(event, "eventThread", requests, serviceCalls, usage -> usage.lockWaitNanos += nanos);
+                    }
+                    case "jdk.ThreadPark" -> {
+                        if (!isFutureWait(event)) {
+                            long nanos = event.getDuration().toNanos();
+                            attribute(event, "eventThread", requests, serviceCalls, usage -> usage.lockWaitNanos += nanos);
+                        }
+                    }
+                    case "jdk.SocketRead", "jdk.SocketWrite" -> {
+                        if (isJdbc(event.getStackTrace())) {
+                            long nanos = event.getDuration().toNanos();
+                            attribute(event, "eventThread", requests, serviceCalls, usage -> usage.jdbcNanos += nanos);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new ProfileSummary(start, end, entries(endpoints), entries(serviceMethods));
+    }
+
+    private static void addSpan(Map<Long, List<Span>> spans, Map<String, Usage> usages, RecordedEvent event, String name,
+                                boolean newCall) {
+        RecordedThread thread = event.getThread();
+        if (thread == null) {
+            return;
+        }
+        Usage usage = usages.computeIfAbsent(name, Usage::new);
+        if (newCall) {
+            usage.calls++;
+        }
+        usage.totalNanos += event.getDuration().toNanos();
+        spans.computeIfAbsent(thread.getJavaThreadId(), id -> new ArrayList<>())
+                .add(new Span(epochNanos(event.getStartTime()), epochNanos(event.getEndTime()), usage));
+    }
+
+    private static void attribute(RecordedEvent event, String threadField, Map<Long, List<Span>> requests,
+                                  Map<Long, List<Span>> serviceCalls, Consumer<Usage> update) {
+        RecordedThread thread = event.getThread(threadField);
+        if (thread == null) {
+            return;
+        }
+        long threadId = thread.getJavaThreadId();
+        long time = epochNanos(event.getStartTime());
+        Usage endpoint = innermost(requests.get(threadId), time);
+        if (endpoint != null) {
+            update.accept(endpoint);
+        }
+        Usage serviceMethod = innermost(serviceCalls.get(threadId), time);
+        if (serviceMethod != null) {
+            update.accept(serviceMethod);
+        }
+    }
+
+    /**
+     * Finds the latest-starting span that still contains the time. Spans on one thread are either
+     * nested or disjoint, so that is the innermost enclosing one.
+     */
+    private static Usage innermost(List<Span> spans, long time) {
+        if (spans == null) {
+            return null;
+        }
+        int low = 0;
+        int high = spans.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (spans.get(mid).start() <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int i = high; i >= 0 && i > high - MAX_ENCLOSING_SPANS; i--) {
+            Span span = spans.get(i);
+            if (span.end() >= time) {
+                return span.usage();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a park waits for a CompletableFuture, whose blocker is its nested Signaller class.
+     */
+    private static boolean isFutureWait(RecordedEvent park) {
+        RecordedClass parkedClass = park.getClass("parkedClass");
+        return parkedClass != null && parkedClass.getName().startsWith(COMPLETABLE_FUTURE);
+    }
+
+    private static boolean isJdbc(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return false;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(JDBC_DRIVER_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<ProfileSummary.Entry> entries(Map<String, Usage> usages) {
+        return usages.values().stream()
+                .map(Usage::toEntry)
+                .sorted(Comparator.comparingLong(ProfileSummary.Entry::cpuSamples).reversed()
+                        .thenComparing(Comparator.comparingDouble(ProfileSummary.Entry::totalMillis).reversed()))
+                .toList();
+    }
+
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private record Span(long start, long end, Usage usage) {
+    }
+
+    private static final class Usage {
+        private final String name;
+        private long calls;
+        private long totalNanos;
+        private long cpuSamples;
+        private long allocatedBytes;
+        private long lockWaitNanos;
+        private long jdbcNanos;
+
+        private Usage(String name) {
+            this.name = name;
+        }
+
+        private ProfileSummary.Entry toEntry() {
+            return new ProfileSummary.Entry(name, calls, totalNanos / 1e6, cpuSamples, allocatedBytes,
+                    lockWaitNanos / 1e6, jdbcNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.atquya.intershop.profiling;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The LatencyTracker class keeps the durations of the most recent requests for percentile checks.
+ * Recording is a single array store; concurrent writers may overwrite each other's slot, which only
+ * costs an occasional sample.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Constructs a LatencyTracker.
+     *
+     * @param capacity the number of most recent durations kept
+     */
+    public LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Records the duration of a request.
+     *
+     * @param nanos the duration, in nanoseconds
+     */
+    public void record(long nanos) {
+        samples[(int) (count.getAndIncrement() % samples.length)] = nanos;
+    }
+
+    /**
+     * Computes a percentile of the kept durations.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the duration at the percentile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        int size = (int) Math.min(count.get(), samples.length);
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return sorted[Math.max(0, (int) Math.ceil(percentile * size) - 1)];
+    }
+
+    /**
+     * Retrieves the number of kept durations.
+     *
+     * @return the number of kept durations
+     */
+    public int size() {
+        return (int) Math.min(count.get(), samples.length);
+    }
+
+    /**
+     * Discards the kept durations.
+     */
+    public void reset() {
+        count.set(0);
+    }
+}
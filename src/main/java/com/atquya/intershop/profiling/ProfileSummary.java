@@ -0,0 +1,34 @@
+package com.atquya.intershop.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resource usage of a JFR recording attributed to endpoints and service methods.
+ *
+ * @param start          The start of the recording.
+ * @param end            The end of the recording.
+ * @param endpoints      The usage per endpoint, most CPU samples first.
+ * @param serviceMethods The usage per service method, most CPU samples first.
+ */
+public record ProfileSummary(Instant start, Instant end, List<Entry> endpoints, List<Entry> serviceMethods) {
+
+    /**
+     * Resource usage of one endpoint or service method.
+     * Samples are attributed to the innermost call open on the sampled thread, so the
+     * usage of a service method is also counted in the endpoint that called it. Work handed to other
+     * threads, such as coalesced product fetches or repricing chunks, is not counted in any entry, and
+     * waiting for it on a CompletableFuture counts towards the total time but not the lock wait time.
+     *
+     * @param name           The endpoint route or the service method.
+     * @param calls          The number of completed requests or calls.
+     * @param totalMillis    The summed time spent handling the requests or calls on server threads.
+     * @param cpuSamples     The number of execution samples taken inside the calls.
+     * @param allocatedBytes The estimated bytes allocated inside the calls.
+     * @param lockWaitMillis The time spent blocked on monitors or parked inside the calls, other than on CompletableFutures.
+     * @param jdbcMillis     The time spent in MySQL driver socket reads and writes inside the calls.
+     */
+    public record Entry(String name, long calls, double totalMillis, long cpuSamples, long allocatedBytes,
+                        double lockWaitMillis, double jdbcMillis) {
+    }
+}
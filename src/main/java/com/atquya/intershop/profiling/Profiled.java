@@ -0,0 +1,18 @@
+package com.atquya.intershop.profiling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service class, or a single method of it, as a profiling entry point.
+ * Calls of the public methods of a marked class, or of a marked method, are recorded as
+ * ServiceCallEvents while a profiling recording is running.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Profiled {
+}
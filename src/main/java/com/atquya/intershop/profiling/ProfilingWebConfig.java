@@ -0,0 +1,32 @@
+package com.atquya.intershop.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * The ProfilingWebConfig class registers the request profiling interceptor for the API endpoints.
+ */
+@Configuration
+public class ProfilingWebConfig implements WebMvcConfigurer {
+    private final RequestProfilingInterceptor requestProfilingInterceptor;
+
+    /**
+     * Constructs a ProfilingWebConfig.
+     *
+     * @param requestProfilingInterceptor the interceptor to register
+     */
+    @Autowired
+    public ProfilingWebConfig(RequestProfilingInterceptor requestProfilingInterceptor) {
+        this.requestProfilingInterceptor = requestProfilingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Event streams and profiling requests stay open by design; their latency would trip the p99 dump.
+        registry.addInterceptor(requestProfilingInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/events", "/api/admin/profile", "/api/admin/profile/**");
+    }
+}
@@ -0,0 +1,27 @@
+package com.atquya.intershop.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The RequestEvent class is a JFR event spanning one dispatch of an HTTP request.
+ * Samples taken on the same thread while it is open are attributed to its endpoint.
+ */
+@Name("intershop.Request")
+@Label("Request")
+@Category("Intershop")
+@Description("Handling of an HTTP request")
+class RequestEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    String route;
+
+    @Label("Async Dispatch")
+    @Description("Whether this dispatch resumes a request started by an earlier one")
+    boolean asyncDispatch;
+}
@@ -0,0 +1,74 @@
+package com.atquya.intershop.profiling;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * The RequestProfilingInterceptor class marks every request with JFR RequestEvents and records its latency.
+ * An async request gets one event per dispatch, each on the thread that handled that dispatch, and its
+ * latency is recorded once, from the start of the first dispatch to the end of the last.
+ * Events are only created while a recording has them enabled, so the cost outside recordings is a timestamp.
+ */
+@Component
+public class RequestProfilingInterceptor implements AsyncHandlerInterceptor {
+    private static final String EVENT_ATTRIBUTE = RequestProfilingInterceptor.class.getName() + ".event";
+    private static final String START_ATTRIBUTE = RequestProfilingInterceptor.class.getName() + ".start";
+    private static final EventType REQUEST = EventType.getEventType(RequestEvent.class);
+
+    private final LatencyTracker latencyTracker = new LatencyTracker(4096);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean asyncDispatch = request.getDispatcherType() == DispatcherType.ASYNC;
+        if (!asyncDispatch) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        if (REQUEST.isEnabled()) {
+            RequestEvent event = new RequestEvent();
+            event.asyncDispatch = asyncDispatch;
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        commitEvent(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            latencyTracker.record(System.nanoTime() - start);
+        }
+        commitEvent(request);
+    }
+
+    /**
+     * Retrieves the tracker of recent request latencies.
+     *
+     * @return the latency tracker
+     */
+    public LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    private static void commitEvent(HttpServletRequest request) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof RequestEvent event) {
+            request.removeAttribute(EVENT_ATTRIBUTE);
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String route
+                        ? route : "unmapped";
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.atquya.intershop.profiling;
+
+import jdk.jfr.EventType;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ServiceCallAspect class wraps the public methods of {@link Profiled} services in a JFR ServiceCallEvent.
+ * Outside recordings the event type is disabled and the method is called without creating an event.
+ */
+@Aspect
+@Component
+public class ServiceCallAspect {
+    private static final EventType SERVICE_CALL = EventType.getEventType(ServiceCallEvent.class);
+
+    /**
+     * Calls the service method inside a ServiceCallEvent.
+     *
+     * @param joinPoint the service method call
+     * @return the result of the method
+     * @throws Throwable anything the method throws
+     */
+    @Around("execution(public * *(..)) && (@within(com.atquya.intershop.profiling.Profiled) || @annotation(com.atquya.intershop.profiling.Profiled))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!SERVICE_CALL.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+}
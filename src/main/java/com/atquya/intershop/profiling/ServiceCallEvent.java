@@ -0,0 +1,23 @@
+package com.atquya.intershop.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The ServiceCallEvent class is a JFR event spanning one call of a service method.
+ * Samples taken on the same thread while it is open are attributed to its method.
+ */
+@Name("intershop.ServiceCall")
+@Label("Service Call")
+@Category("Intershop")
+@Description("Call of a public service method")
+class ServiceCallEvent extends Event {
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+}
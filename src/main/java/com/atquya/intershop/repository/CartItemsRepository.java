@@ -3,10 +3,68 @@ package com.atquya.intershop.repository;
 
 import com.atquya.intershop.entities.CartItem;
 import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.pricing.CartRevision;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 
 public interface CartItemsRepository extends JpaRepository<CartItem, Long> {
     CartItem findByProduct(Product product);
+
+    /**
+     * Retrieves the last-modified time of every cart item, for rebuilding the expiry schedule.
+     *
+     * @return the id and last-modified time of every cart item
+     */
+    @Query("select c.id as id, c.lastModified as lastModified from CartItem c")
+    List<ExpiryTimestamp> findAllExpiryTimestamps();
+
+    /**
+     * Retrieves a fingerprint of the stored cart and the prices of its products, for detecting changes
+     * made through any node.
+     *
+     * @return the current revision of the cart
+     */
+    @Query("select new com.atquya.intershop.pricing.CartRevision(count(c), max(c.lastModified), sum(c.quantity * p.price))"
+            + " from CartItem c left join c.product p")
+    CartRevision findRevision();
+
+    /**
+     * Stamps cart items that predate last-modified tracking with the given time.
+     *
+     * @param now the time to stamp
+     * @return the number of updated cart items
+     */
+    @Modifying
+    @Transactional
+    @Query("update CartItem c set c.lastModified = :now where c.lastModified is null")
+    int backfillLastModified(@Param("now") Instant now);
+
+    /**
+     * Deletes the given cart items unless they were changed after the cutoff.
+     *
+     * @param ids    the IDs of the cart items to delete
+     * @param cutoff the latest last-modified time of a deletable cart item
+     * @return the number of deleted cart items
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from CartItem c where c.id in :ids and c.lastModified <= :cutoff")
+    int deleteExpired(@Param("ids") Collection<Long> ids, @Param("cutoff") Instant cutoff);
+
+    /**
+     * Projection of the cart item fields needed by the expiry schedule.
+     */
+    interface ExpiryTimestamp {
+        Long getId();
+
+        Instant getLastModified();
+    }
 }
@@ -3,8 +3,52 @@ package com.atquya.intershop.repository;
 
 import com.atquya.intershop.entities.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface ProductsRepository extends JpaRepository<Product, Long> {
 
+    /**
+     * Retrieves the lowest product ID.
+     *
+     * @return the lowest product ID, or null if there are no products
+     */
+    @Query("select min(p.id) from Product p")
+    Long findMinId();
+
+    /**
+     * Retrieves the highest product ID.
+     *
+     * @return the highest product ID, or null if there are no products
+     */
+    @Query("select max(p.id) from Product p")
+    Long findMaxId();
+
+    /**
+     * Multiplies the prices of the products in an ID range, rounded to cents.
+     * Must run inside a transaction.
+     *
+     * @param fromId the first product ID of the range
+     * @param toId   the last product ID of the range
+     * @param factor the factor to multiply by
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("update Product p set p.price = round(p.price * :factor, 2) where p.id between :fromId and :toId")
+    int scalePrices(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("factor") double factor);
+
+    /**
+     * Adds an amount to the prices of the products in an ID range, never going below zero.
+     * Must run inside a transaction.
+     *
+     * @param fromId the first product ID of the range
+     * @param toId   the last product ID of the range
+     * @param delta  the amount to add
+     * @return the number of updated products
+     */
+    @Modifying
+    @Query("update Product p set p.price = case when p.price + :delta < 0 then 0.0 else round(p.price + :delta, 2) end where p.id between :fromId and :toId")
+    int shiftPrices(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("delta") double delta);
 }
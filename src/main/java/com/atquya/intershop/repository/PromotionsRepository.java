@@ -0,0 +1,22 @@
+package com.atquya.intershop.repository;
+
+
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.pricing.PromotionsRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+
+public interface PromotionsRepository extends JpaRepository<Promotion, Long> {
+    List<Promotion> findByActiveTrue();
+
+    /**
+     * Retrieves a fingerprint of the stored promotions, for detecting changes made through any node.
+     *
+     * @return the current revision of the promotions
+     */
+    @Query("select new com.atquya.intershop.pricing.PromotionsRevision(count(p), max(p.id), max(p.lastModified)) from Promotion p")
+    PromotionsRevision findRevision();
+}
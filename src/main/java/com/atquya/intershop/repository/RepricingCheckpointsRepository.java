@@ -0,0 +1,31 @@
+package com.atquya.intershop.repository;
+
+
+import com.atquya.intershop.entities.RepricingCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+
+public interface RepricingCheckpointsRepository extends JpaRepository<RepricingCheckpoint, Long> {
+
+    /**
+     * Retrieves the indexes of the completed chunks of a job.
+     *
+     * @param jobId the ID of the job
+     * @return the completed chunk indexes
+     */
+    @Query("select c.chunkIndex from RepricingCheckpoint c where c.jobId = :jobId")
+    List<Integer> findChunkIndexesByJobId(@Param("jobId") Long jobId);
+
+    /**
+     * Sums the products updated by the completed chunks of a job.
+     *
+     * @param jobId the ID of the job
+     * @return the number of updated products
+     */
+    @Query("select coalesce(sum(c.rowsUpdated), 0) from RepricingCheckpoint c where c.jobId = :jobId")
+    long sumRowsUpdatedByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,42 @@
+package com.atquya.intershop.repository;
+
+
+import com.atquya.intershop.entities.RepricingJob;
+import com.atquya.intershop.entities.RepricingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+
+public interface RepricingJobsRepository extends JpaRepository<RepricingJob, Long> {
+
+    /**
+     * Retrieves a job together with its price list.
+     *
+     * @param id the ID of the job
+     * @return the job, or empty if not found
+     */
+    @Query("select j from RepricingJob j left join fetch j.priceList where j.id = :id")
+    Optional<RepricingJob> findWithPriceListById(@Param("id") Long id);
+
+    /**
+     * Records the outcome of a job run without touching its price list.
+     *
+     * @param id          the ID of the job
+     * @param status      the state the run ended in
+     * @param rowsUpdated the number of products updated over all runs
+     * @param finishedAt  the time the run stopped
+     * @param failure     the failure message, or null
+     * @return the number of updated jobs
+     */
+    @Modifying
+    @Transactional
+    @Query("update RepricingJob j set j.status = :status, j.rowsUpdated = :rowsUpdated, j.finishedAt = :finishedAt, j.failure = :failure where j.id = :id")
+    int finish(@Param("id") Long id, @Param("status") RepricingStatus status, @Param("rowsUpdated") long rowsUpdated,
+               @Param("finishedAt") Instant finishedAt, @Param("failure") String failure);
+}
@@ -0,0 +1,142 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.events.CartChangedEvent;
+import com.atquya.intershop.repository.CartItemsRepository;
+import com.atquya.intershop.util.HierarchicalTimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CartExpiryService class removes abandoned cart items.
+ * Every cart item is scheduled on an in-memory timing wheel for its last-modified time plus the TTL,
+ * and the schedule is reset whenever the item changes. Expired items are deleted in bounded batches
+ * so a sweep never holds locks on a large part of the cart table. The schedule is rebuilt from the
+ * stored last-modified times on startup.
+ */
+@Service
+public class CartExpiryService {
+    private final CartItemsRepository cartItemsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatchesPerSweep;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final ArrayDeque<Long> pendingDeletes = new ArrayDeque<>();
+
+    /**
+     * Constructs a CartExpiryService.
+     *
+     * @param cartItemsRepository the repository for managing CartItem entities
+     * @param eventPublisher      the publisher of cart change events
+     * @param ttl                 how long an untouched cart item is kept
+     * @param tick                the resolution of the expiry schedule
+     * @param batchSize           the maximum number of cart items deleted per statement
+     * @param maxBatchesPerSweep  the maximum number of delete statements issued per sweep
+     */
+    @Autowired
+    public CartExpiryService(CartItemsRepository cartItemsRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${intershop.cart.expiry.ttl:PT72H}") Duration ttl,
+                             @Value("${intershop.cart.expiry.tick:PT1S}") Duration tick,
+                             @Value("${intershop.cart.expiry.batch-size:500}") int batchSize,
+                             @Value("${intershop.cart.expiry.max-batches-per-sweep:4}") int maxBatchesPerSweep) {
+        this(cartItemsRepository, eventPublisher, Clock.systemUTC(), ttl, tick, batchSize, maxBatchesPerSweep);
+    }
+
+    CartExpiryService(CartItemsRepository cartItemsRepository, ApplicationEventPublisher eventPublisher, Clock clock,
+                      Duration ttl, Duration tick, int batchSize, int maxBatchesPerSweep) {
+        this.cartItemsRepository = cartItemsRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.maxBatchesPerSweep = maxBatchesPerSweep;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), 6, 4, clock.millis());
+    }
+
+    /**
+     * Rebuilds the expiry schedule from the last-modified times stored in the database.
+     * Cart items that were touched while the rebuild was running keep their newer deadline.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        cartItemsRepository.backfillLastModified(clock.instant());
+        for (CartItemsRepository.ExpiryTimestamp timestamp : cartItemsRepository.findAllExpiryTimestamps()) {
+            wheel.scheduleIfAbsent(timestamp.getId(), deadlineOf(timestamp.getLastModified()));
+        }
+    }
+
+    /**
+     * Resets the expiry deadline of a cart item after it has been changed.
+     *
+     * @param cartItem the changed cart item
+     */
+    public void touch(CartItem cartItem) {
+        wheel.schedule(cartItem.getId(), deadlineOf(cartItem.getLastModified()));
+    }
+
+    /**
+     * Removes a deleted cart item from the expiry schedule.
+     *
+     * @param cartItemId the ID of the deleted cart item
+     */
+    public void forget(Long cartItemId) {
+        wheel.cancel(cartItemId);
+    }
+
+    /**
+     * Deletes the cart items whose deadline has passed.
+     * At most {@code maxBatchesPerSweep} batches are deleted per sweep; the rest are carried over to the next one.
+     * Items changed after their deadline was taken off the wheel are left in place by the delete statement.
+     */
+    @Scheduled(fixedDelayString = "${intershop.cart.expiry.sweep-interval:PT1S}")
+    public synchronized void sweep() {
+        Instant now = clock.instant();
+        wheel.advance(now.toEpochMilli(), pendingDeletes::add);
+        Instant cutoff = now.minus(ttl);
+        for (int batch = 0; batch < maxBatchesPerSweep && !pendingDeletes.isEmpty(); batch++) {
+            List<Long> ids = new ArrayList<>(Math.min(batchSize, pendingDeletes.size()));
+            while (ids.size() < batchSize && !pendingDeletes.isEmpty()) {
+                ids.add(pendingDeletes.poll());
+            }
+            int deleted;
+            try {
+                deleted = cartItemsRepository.deleteExpired(ids, cutoff);
+            } catch (RuntimeException e) {
+                pendingDeletes.addAll(ids);
+                throw e;
+            }
+            if (deleted > 0) {
+                eventPublisher.publishEvent(new CartChangedEvent(null, 0));
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of cart items waiting to expire.
+     *
+     * @return the number of scheduled cart items
+     */
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+
+    private long deadlineOf(Instant lastModified) {
+        Instant base = lastModified != null ? lastModified : clock.instant();
+        return base.plus(ttl).toEpochMilli();
+    }
+}
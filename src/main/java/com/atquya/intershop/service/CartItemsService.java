@@ -1,15 +1,31 @@
 package com.atquya.intershop.service;
 
+import com.atquya.intershop.dto.CartItemDto;
+import com.atquya.intershop.dto.ProductDto;
 import com.atquya.intershop.entities.CartItem;
 import com.atquya.intershop.entities.Product;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * The CartItemService class provides methods for converting entities to DTOs.
  * It is responsible for converting CartItem and Product objects to their respective DTO counterparts.
  */
 @Service
 public class CartItemsService {
+    private final DtoMapper dtoMapper;
+
+    /**
+     * Constructs a CartItemsService with the specified mapper.
+     *
+     * @param dtoMapper the generated entity to DTO mapper
+     */
+    @Autowired
+    public CartItemsService(DtoMapper dtoMapper) {
+        this.dtoMapper = dtoMapper;
+    }
 
     /**
      * Converts a CartItem object to a CartItem DTO object.
@@ -17,12 +33,8 @@ public class CartItemsService {
      * @param cartItem the CartItem object to convert
      * @return the converted CartItem DTO object
      */
-    public CartItem convertToDto (CartItem cartItem) {
-        CartItem DTOcartItem = new CartItem();
-        DTOcartItem.setId(cartItem.getId());
-        DTOcartItem.setProduct(convertToDto(cartItem.getProduct()));
-        DTOcartItem.setQuantity(cartItem.getQuantity());
-        return DTOcartItem;
+    public CartItemDto convertToDto(CartItem cartItem) {
+        return dtoMapper.toDto(cartItem);
     }
 
     /**
@@ -31,11 +43,27 @@ public class CartItemsService {
      * @param product the Product object to convert
      * @return the converted Product DTO object
      */
-    public Product convertToDto(Product product) {
-        Product DTOproduct = new Product();
-        DTOproduct.setId(product.getId());
-        DTOproduct.setName(product.getName());
-        DTOproduct.setPrice(product.getPrice());
-        return DTOproduct;
+    public ProductDto convertToDto(Product product) {
+        return dtoMapper.toDto(product);
+    }
+
+    /**
+     * Converts a list of CartItem objects to CartItem DTO objects.
+     *
+     * @param cartItems the CartItem objects to convert
+     * @return the converted CartItem DTO objects
+     */
+    public List<CartItemDto> convertCartItemsToDto(List<CartItem> cartItems) {
+        return dtoMapper.toCartItemDtos(cartItems);
+    }
+
+    /**
+     * Converts a list of Product objects to Product DTO objects.
+     *
+     * @param products the Product objects to convert
+     * @return the converted Product DTO objects
+     */
+    public List<ProductDto> convertProductsToDto(List<Product> products) {
+        return dtoMapper.toProductDtos(products);
     }
 }
@@ -0,0 +1,239 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.catalog.CatalogSnapshot;
+import com.atquya.intershop.entities.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The CatalogSnapshotService class serves product reads from a memory-mapped catalog snapshot.
+ * On startup the node maps the snapshot file, or exports one from the database if there is none,
+ * and product writes made through this node are kept in an overlay on top of it until the next export.
+ * Overlay entries are stamped with a write sequence number and an export drops every entry stamped before
+ * its query started; writes are applied only after they commit, so those are already in the exported rows,
+ * or superseded by later changes made through other nodes or bulk repricing.
+ * Products missing from the snapshot are left to the caller to read from the database.
+ * Exports stream the product rows straight into the snapshot columns instead of loading them as entities.
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final String EXPORT_QUERY = "select id, name, price from product order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path path;
+    private volatile CatalogSnapshot snapshot;
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, OverlayEntry> overlay = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructs a CatalogSnapshotService.
+     *
+     * @param jdbcTemplate the template reading the product rows
+     * @param enabled      whether reads are served from the snapshot
+     * @param path         the snapshot file
+     */
+    @Autowired
+    public CatalogSnapshotService(JdbcTemplate jdbcTemplate,
+                                  @Value("${intershop.catalog.snapshot.enabled:false}") boolean enabled,
+                                  @Value("${intershop.catalog.snapshot.path:catalog.snapshot}") Path path) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.path = path;
+    }
+
+    /**
+     * Maps the snapshot file, exporting a new one if it is missing or unreadable.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        if (Files.exists(path)) {
+            try {
+                snapshot = CatalogSnapshot.open(path);
+                return;
+            } catch (IOException e) {
+                // fall through and replace the unreadable file
+            }
+        }
+        export();
+    }
+
+    /**
+     * Periodically re-exports the snapshot so that changes made through other nodes are picked up.
+     */
+    @Scheduled(initialDelayString = "${intershop.catalog.snapshot.refresh-interval:PT10M}",
+            fixedDelayString = "${intershop.catalog.snapshot.refresh-interval:PT10M}")
+    public void refresh() {
+        if (enabled) {
+            export();
+        }
+    }
+
+    /**
+     * Exports the catalog from the database to the snapshot file and maps it.
+     * Overlay entries written before the export started are dropped.
+     *
+     * @return the new snapshot
+     * @throws IllegalStateException if snapshots are disabled
+     * @throws UncheckedIOException  if the snapshot file cannot be written
+     */
+    public synchronized CatalogSnapshot export() {
+        if (!enabled) {
+            throw new IllegalStateException("Catalog snapshots are disabled");
+        }
+        long exportSequence = writeSequence.incrementAndGet();
+        try {
+            CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+            RowCallbackHandler addRow = row -> builder.add(row.getLong(1), row.getString(2), row.getDouble(3));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Connector/J streams a forward-only result row by row only with this fetch size.
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, addRow);
+            builder.write(path);
+            CatalogSnapshot exported = CatalogSnapshot.open(path);
+            snapshot = exported;
+            overlay.values().removeIf(entry -> entry.sequence() < exportSequence);
+            return exported;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export catalog snapshot to " + path, e);
+        }
+    }
+
+    /**
+     * Checks whether reads are currently served from a snapshot.
+     *
+     * @return true if a snapshot is mapped
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Finds a product by its ID in the overlay or the snapshot.
+     *
+     * @param id the ID of the product
+     * @return the product, or empty if the caller has to read it from the database
+     */
+    public Optional<Product> findById(Long id) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        OverlayEntry entry = overlay.get(id);
+        if (entry != null) {
+            return entry.product() != null ? Optional.of(copyOf(entry.product())) : Optional.empty();
+        }
+        return current.findById(id);
+    }
+
+    /**
+     * Retrieves all products from the snapshot with the overlay applied, ordered by ID.
+     *
+     * @return the products, or empty if no snapshot is mapped
+     */
+    public Optional<List<Product>> findAll() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        List<Product> products = new ArrayList<>(current.size() + overlay.size());
+        var pending = overlay.entrySet().iterator();
+        Map.Entry<Long, OverlayEntry> next = pending.hasNext() ? pending.next() : null;
+        for (int i = 0; i < current.size(); i++) {
+            long id = current.idAt(i);
+            while (next != null && next.getKey() < id) {
+                addUpsert(products, next.getValue());
+                next = pending.hasNext() ? pending.next() : null;
+            }
+            if (next != null && next.getKey() == id) {
+                addUpsert(products, next.getValue());
+                next = pending.hasNext() ? pending.next() : null;
+            } else {
+                products.add(current.productAt(i));
+            }
+        }
+        while (next != null) {
+            addUpsert(products, next.getValue());
+            next = pending.hasNext() ? pending.next() : null;
+        }
+        return Optional.of(products);
+    }
+
+    /**
+     * Records a created or updated product on top of the snapshot.
+     *
+     * @param product the saved product
+     */
+    public void apply(Product product) {
+        if (enabled && product.getId() != null) {
+            Product copy = copyOf(product);
+            overlay.compute(product.getId(), (id, previous) -> new OverlayEntry(writeSequence.incrementAndGet(), copy));
+        }
+    }
+
+    /**
+     * Records a deleted product on top of the snapshot.
+     *
+     * @param id the ID of the deleted product
+     */
+    public void remove(Long id) {
+        if (enabled) {
+            overlay.compute(id, (key, previous) -> new OverlayEntry(writeSequence.incrementAndGet(), null));
+        }
+    }
+
+    /**
+     * Retrieves the number of local writes not yet reflected in the snapshot.
+     *
+     * @return the number of overlay entries
+     */
+    public int getOverlaySize() {
+        return overlay.size();
+    }
+
+    private static void addUpsert(List<Product> products, OverlayEntry entry) {
+        if (entry.product() != null) {
+            products.add(copyOf(entry.product()));
+        }
+    }
+
+    private static Product copyOf(Product product) {
+        Product copy = new Product(product.getName(), product.getPrice());
+        copy.setId(product.getId());
+        return copy;
+    }
+
+    /**
+     * A local write on top of the snapshot.
+     *
+     * @param sequence the write sequence number
+     * @param product  the written product, or null if it was deleted
+     */
+    private record OverlayEntry(long sequence, Product product) {
+    }
+}
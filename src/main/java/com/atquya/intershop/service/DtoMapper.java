@@ -0,0 +1,89 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.dto.CartItemDto;
+import com.atquya.intershop.dto.ProductDto;
+import com.atquya.intershop.dto.PromotionDto;
+import com.atquya.intershop.dto.RepricingJobDto;
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.entities.RepricingJob;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+
+/**
+ * The DtoMapper interface declares the entity to DTO mappings.
+ * Its implementation is generated at compile time by MapStruct as plain getter and constructor calls.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface DtoMapper {
+
+    /**
+     * Maps a Product entity to a ProductDto.
+     *
+     * @param product the Product to map
+     * @return the mapped ProductDto
+     */
+    ProductDto toDto(Product product);
+
+    /**
+     * Maps a CartItem entity to a CartItemDto.
+     *
+     * @param cartItem the CartItem to map
+     * @return the mapped CartItemDto
+     */
+    CartItemDto toDto(CartItem cartItem);
+
+    /**
+     * Maps a list of Product entities to ProductDtos.
+     *
+     * @param products the Products to map
+     * @return the mapped ProductDtos
+     */
+    List<ProductDto> toProductDtos(List<Product> products);
+
+    /**
+     * Maps a list of CartItem entities to CartItemDtos.
+     *
+     * @param cartItems the CartItems to map
+     * @return the mapped CartItemDtos
+     */
+    List<CartItemDto> toCartItemDtos(List<CartItem> cartItems);
+
+    /**
+     * Maps a Promotion entity to a PromotionDto.
+     *
+     * @param promotion the Promotion to map
+     * @return the mapped PromotionDto
+     */
+    PromotionDto toDto(Promotion promotion);
+
+    /**
+     * Maps a list of Promotion entities to PromotionDtos.
+     *
+     * @param promotions the Promotions to map
+     * @return the mapped PromotionDtos
+     */
+    List<PromotionDto> toPromotionDtos(List<Promotion> promotions);
+
+    /**
+     * Maps a PromotionDto to a new Promotion entity, keeping the entity defaults for omitted fields.
+     *
+     * @param promotion the PromotionDto to map
+     * @return the mapped Promotion
+     */
+    @Mapping(target = "active", defaultValue = "true")
+    @Mapping(target = "lastModified", ignore = true)
+    Promotion toEntity(PromotionDto promotion);
+
+    /**
+     * Maps a RepricingJob entity to a RepricingJobDto.
+     *
+     * @param job the RepricingJob to map
+     * @return the mapped RepricingJobDto
+     */
+    RepricingJobDto toDto(RepricingJob job);
+}
@@ -0,0 +1,125 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.pricing.CartRevision;
+import com.atquya.intershop.pricing.PricedCart;
+import com.atquya.intershop.pricing.PricingPlan;
+import com.atquya.intershop.pricing.PromotionsRevision;
+import com.atquya.intershop.profiling.Profiled;
+import com.atquya.intershop.repository.CartItemsRepository;
+import com.atquya.intershop.repository.PromotionsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The PricingService class prices the shopping cart with the active promotions applied.
+ * Promotions are compiled into a PricingPlan that is reused until a promotion changes, starts or ends,
+ * and the priced cart is cached until the cart revision moves. Both revisions are fingerprints read from
+ * the database on every call, so changes committed through other nodes or by bulk repricing invalidate them
+ * as well; they cost one aggregate query each instead of loading and pricing the cart.
+ */
+@Service
+public class PricingService {
+    private final PromotionsRepository promotionsRepository;
+    private final CartItemsRepository cartItemsRepository;
+    private volatile LoadedPlan loadedPlan;
+    private volatile CachedPrice cachedPrice;
+
+    /**
+     * Constructs a PricingService with the specified repositories.
+     *
+     * @param promotionsRepository the repository for managing Promotion entities
+     * @param cartItemsRepository  the repository for managing CartItem entities
+     */
+    @Autowired
+    public PricingService(PromotionsRepository promotionsRepository, CartItemsRepository cartItemsRepository) {
+        this.promotionsRepository = promotionsRepository;
+        this.cartItemsRepository = cartItemsRepository;
+    }
+
+    /**
+     * Prices the shopping cart, reusing the last result if neither the cart nor the promotions changed since.
+     *
+     * @return the priced cart
+     */
+    @Profiled
+    public PricedCart priceCart() {
+        CartRevision revision = cartItemsRepository.findRevision();
+        PricingPlan currentPlan = currentPlan();
+        CachedPrice cached = cachedPrice;
+        if (cached != null && cached.revision().equals(revision) && cached.plan() == currentPlan) {
+            return cached.pricedCart();
+        }
+        PricedCart pricedCart = currentPlan.price(cartItemsRepository.findAll());
+        cachedPrice = new CachedPrice(revision, currentPlan, pricedCart);
+        return pricedCart;
+    }
+
+    /**
+     * Retrieves all promotions.
+     *
+     * @return the list of promotions
+     */
+    public List<Promotion> getPromotions() {
+        return promotionsRepository.findAll();
+    }
+
+    /**
+     * Validates and saves a promotion, then recompiles the plan.
+     *
+     * @param promotion the promotion to save
+     * @return the saved promotion
+     * @throws IllegalArgumentException if the promotion is invalid
+     */
+    public Promotion savePromotion(Promotion promotion) {
+        PricingPlan.compileRule(promotion);
+        promotion.setLastModified(Instant.now());
+        Promotion savedPromotion = promotionsRepository.save(promotion);
+        reload();
+        return savedPromotion;
+    }
+
+    /**
+     * Deletes a promotion, then recompiles the plan.
+     *
+     * @param id the ID of the promotion to delete
+     */
+    public void deletePromotion(Long id) {
+        promotionsRepository.deleteById(id);
+        reload();
+    }
+
+    /**
+     * Compiles the active promotions into a new plan.
+     *
+     * @return the new plan
+     */
+    public PricingPlan reload() {
+        return load(promotionsRepository.findRevision()).plan();
+    }
+
+    private PricingPlan currentPlan() {
+        PromotionsRevision revision = promotionsRepository.findRevision();
+        LoadedPlan current = loadedPlan;
+        if (current == null || !current.revision().equals(revision) || !current.plan().isValidAt(Instant.now())) {
+            current = load(revision);
+        }
+        return current.plan();
+    }
+
+    private synchronized LoadedPlan load(PromotionsRevision revision) {
+        // The revision is read before the promotions, so a change committed in between forces another reload.
+        LoadedPlan loaded = new LoadedPlan(revision, PricingPlan.compile(promotionsRepository.findByActiveTrue(), Instant.now()));
+        loadedPlan = loaded;
+        return loaded;
+    }
+
+    private record LoadedPlan(PromotionsRevision revision, PricingPlan plan) {
+    }
+
+    private record CachedPrice(CartRevision revision, PricingPlan plan, PricedCart pricedCart) {
+    }
+}
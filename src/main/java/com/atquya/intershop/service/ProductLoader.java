@@ -0,0 +1,216 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.repository.ProductsRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ProductLoader class coalesces concurrent product lookups.
+ * Loads for a key that is already being fetched share the in-flight fetch, and loads for
+ * different keys arriving within a short window are fetched together with one query.
+ * Nothing is cached: once a fetch completes, the next load for the key queries the database again.
+ * The returned products are detached and shared by every caller of the same fetch, so they must be
+ * treated as read-only and never attached to other entities.
+ */
+@Service
+public class ProductLoader {
+    private final ProductsRepository productsRepository;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService executor;
+    private final Map<Long, CompletableFuture<Optional<Product>>> inFlight = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    private List<Long> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final LongAdder requestedKeys = new LongAdder();
+    private final LongAdder coalescedKeys = new LongAdder();
+    private final LongAdder issuedQueries = new LongAdder();
+    private final LongAdder fetchedKeys = new LongAdder();
+
+    /**
+     * Constructs a ProductLoader.
+     *
+     * @param productsRepository the repository for managing Product entities
+     * @param batchWindow        how long a new key waits for other keys to share its query
+     * @param maxBatchSize       the maximum number of keys fetched by one query
+     * @param threads            the number of threads issuing queries
+     */
+    @Autowired
+    public ProductLoader(ProductsRepository productsRepository,
+                         @Value("${intershop.products.loader.batch-window:PT0.002S}") Duration batchWindow,
+                         @Value("${intershop.products.loader.max-batch-size:100}") int maxBatchSize,
+                         @Value("${intershop.products.loader.threads:4}") int threads) {
+        this.productsRepository = productsRepository;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "product-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads a product by its ID, sharing the fetch with any concurrent load of the same ID.
+     *
+     * @param id the ID of the product
+     * @return a future completed with the product, or empty if it does not exist
+     */
+    public CompletableFuture<Optional<Product>> load(Long id) {
+        requestedKeys.increment();
+        CompletableFuture<Optional<Product>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<Product>> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            coalescedKeys.increment();
+            return existing;
+        }
+        enqueue(id);
+        return created;
+    }
+
+    /**
+     * Loads several products by their IDs.
+     *
+     * @param ids the IDs of the products
+     * @return a future completed with the products found, keyed by ID
+     */
+    public CompletableFuture<Map<Long, Product>> loadMany(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<Product>>> futures = new HashMap<>();
+        for (Long id : ids) {
+            futures.computeIfAbsent(id, this::load);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<Long, Product> products = new HashMap<>();
+                    futures.forEach((id, future) -> future.join().ifPresent(product -> products.put(id, product)));
+                    return products;
+                });
+    }
+
+    /**
+     * Loads a product by its ID and waits for the result.
+     * The fetch needs a connection of its own, so callers must not wait from inside a transaction.
+     *
+     * @param id the ID of the product
+     * @return the product, or empty if it does not exist
+     */
+    public Optional<Product> get(Long id) {
+        try {
+            return load(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the coalescing counters.
+     *
+     * @return the current counters
+     */
+    public Stats getStats() {
+        return new Stats(requestedKeys.sum(), coalescedKeys.sum(), issuedQueries.sum(), fetchedKeys.sum());
+    }
+
+    /**
+     * Stops the query threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void enqueue(Long id) {
+        List<Long> ready = null;
+        synchronized (pendingLock) {
+            pending.add(id);
+            if (pending.size() >= maxBatchSize) {
+                ready = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = executor.schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (ready != null) {
+            List<Long> batch = ready;
+            executor.execute(() -> fetch(batch));
+        }
+    }
+
+    private void flush() {
+        List<Long> batch;
+        synchronized (pendingLock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private List<Long> takePending() {
+        List<Long> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void fetch(List<Long> ids) {
+        issuedQueries.increment();
+        fetchedKeys.add(ids.size());
+        Map<Long, Product> products = new HashMap<>();
+        try {
+            if (ids.size() == 1) {
+                productsRepository.findById(ids.get(0)).ifPresent(product -> products.put(ids.get(0), product));
+            } else {
+                for (Product product : productsRepository.findAllById(ids)) {
+                    products.put(product.getId(), product);
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Long id : ids) {
+                inFlight.remove(id).completeExceptionally(e);
+            }
+            return;
+        }
+        for (Long id : ids) {
+            inFlight.remove(id).complete(Optional.ofNullable(products.get(id)));
+        }
+    }
+
+    /**
+     * Counters describing how well concurrent lookups are coalesced.
+     *
+     * @param requestedKeys the number of keys requested by callers
+     * @param coalescedKeys the number of requests that joined a fetch already in flight
+     * @param issuedQueries the number of queries sent to the database
+     * @param fetchedKeys   the number of keys fetched by those queries
+     */
+    public record Stats(long requestedKeys, long coalescedKeys, long issuedQueries, long fetchedKeys) {
+    }
+}
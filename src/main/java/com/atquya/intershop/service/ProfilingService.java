@@ -0,0 +1,282 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.profiling.JfrSummarizer;
+import com.atquya.intershop.profiling.LatencyTracker;
+import com.atquya.intershop.profiling.ProfileSummary;
+import com.atquya.intershop.profiling.RequestProfilingInterceptor;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The ProfilingService class runs JFR recordings and summarizes them per endpoint and service method.
+ * On demand it runs a time-boxed recording with the "profile" settings and parses it in-process.
+ * Optionally it also keeps a continuous recording with the low-overhead "default" settings in a ring
+ * buffer bounded by age and size, and dumps it to the dump directory when the p99 latency of recent
+ * requests crosses a threshold, at most once per cooldown. Only the newest dumps are kept.
+ */
+@Service
+public class ProfilingService {
+    private static final Pattern DUMP_NAME = Pattern.compile("intershop-\\d{8}T\\d{9}Z\\.jfr");
+    private static final DateTimeFormatter DUMP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final LatencyTracker latencyTracker;
+    private final Duration maxDuration;
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final DataSize continuousMaxSize;
+    private final Duration p99Threshold;
+    private final Duration cooldown;
+    private final Path dumpDirectory;
+    private final int maxDumps;
+    private final AtomicBoolean onDemandRunning = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profiling");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Recording continuousRecording;
+    private volatile Instant lastDump = Instant.EPOCH;
+
+    /**
+     * Constructs a ProfilingService.
+     *
+     * @param requestProfilingInterceptor the interceptor tracking request latencies
+     * @param maxDuration                 the longest allowed on-demand recording
+     * @param continuousEnabled           whether the continuous recording runs
+     * @param continuousMaxAge            how far back the continuous recording reaches
+     * @param continuousMaxSize           the size bound of the continuous recording
+     * @param p99Threshold                the p99 request latency above which the continuous recording is dumped
+     * @param cooldown                    the minimum time between two dumps
+     * @param dumpDirectory               the directory dumps are written to
+     * @param maxDumps                    the number of newest dumps kept in the dump directory
+     */
+    @Autowired
+    public ProfilingService(RequestProfilingInterceptor requestProfilingInterceptor,
+                            @Value("${intershop.profiling.max-duration:PT5M}") Duration maxDuration,
+                            @Value("${intershop.profiling.continuous.enabled:false}") boolean continuousEnabled,
+                            @Value("${intershop.profiling.continuous.max-age:PT5M}") Duration continuousMaxAge,
+                            @Value("${intershop.profiling.continuous.max-size:100MB}") DataSize continuousMaxSize,
+                            @Value("${intershop.profiling.continuous.p99-threshold:PT0.5S}") Duration p99Threshold,
+                            @Value("${intershop.profiling.continuous.cooldown:PT10M}") Duration cooldown,
+                            @Value("${intershop.profiling.continuous.dump-directory:profiles}") Path dumpDirectory,
+                            @Value("${intershop.profiling.continuous.max-dumps:10}") int maxDumps) {
+        this.latencyTracker = requestProfilingInterceptor.getLatencyTracker();
+        this.maxDuration = maxDuration;
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = continuousMaxAge;
+        this.continuousMaxSize = continuousMaxSize;
+        this.p99Threshold = p99Threshold;
+        this.cooldown = cooldown;
+        this.dumpDirectory = dumpDirectory;
+        this.maxDumps = maxDumps;
+    }
+
+    /**
+     * Starts the continuous recording if it is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (!continuousEnabled) {
+            return;
+        }
+        Recording recording = new Recording(configuration("default"));
+        recording.setName("intershop-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(continuousMaxAge);
+        recording.setMaxSize(continuousMaxSize.toBytes());
+        enableAttributionEvents(recording);
+        recording.start();
+        continuousRecording = recording;
+    }
+
+    /**
+     * Runs an on-demand recording and summarizes it once it ends. Only one on-demand recording runs at a time.
+     *
+     * @param duration how long to record
+     * @return the summary, completed when the recording ends
+     * @throws IllegalArgumentException if the duration is not positive or longer than the maximum
+     * @throws IllegalStateException    if an on-demand recording is already running
+     */
+    public CompletableFuture<ProfileSummary> profile(Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Profiling duration must be between 0 and " + maxDuration);
+        }
+        if (!onDemandRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A profiling recording is already running");
+        }
+        CompletableFuture<ProfileSummary> summary = new CompletableFuture<>();
+        Recording recording;
+        try {
+            recording = new Recording(configuration("profile"));
+            recording.setName("intershop-on-demand");
+            enableAttributionEvents(recording);
+            recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            recording.enable("jdk.SocketRead").withThreshold(Duration.ZERO).withStackTrace();
+            recording.enable("jdk.SocketWrite").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+        } catch (RuntimeException e) {
+            onDemandRunning.set(false);
+            throw e;
+        }
+        scheduler.schedule(() -> {
+            try (recording) {
+                recording.stop();
+                Path file = Files.createTempFile("intershop-profile", ".jfr");
+                try {
+                    recording.dump(file);
+                    summary.complete(JfrSummarizer.summarize(file));
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException | RuntimeException e) {
+                summary.completeExceptionally(e);
+            } finally {
+                onDemandRunning.set(false);
+            }
+        }, duration.toMillis(), TimeUnit.MILLISECONDS);
+        return summary;
+    }
+
+    /**
+     * Dumps the continuous recording when the p99 latency of recent requests is above the threshold.
+     */
+    @Scheduled(fixedDelayString = "${intershop.profiling.continuous.check-interval:PT10S}")
+    public void checkLatency() {
+        if (continuousRecording == null || latencyTracker.size() == 0) {
+            return;
+        }
+        if (latencyTracker.percentile(0.99) > p99Threshold.toNanos()
+                && Instant.now().isAfter(lastDump.plus(cooldown))) {
+            dump();
+            latencyTracker.reset();
+        }
+    }
+
+    /**
+     * Dumps the continuous recording to the dump directory and deletes the oldest dumps beyond the kept number.
+     *
+     * @return the name of the dump file
+     * @throws IllegalStateException if the continuous recording is not running
+     */
+    public synchronized String dump() {
+        Recording recording = continuousRecording;
+        if (recording == null) {
+            throw new IllegalStateException("Continuous profiling is not enabled");
+        }
+        Instant now = Instant.now();
+        String name = "intershop-" + DUMP_TIMESTAMP.format(now) + ".jfr";
+        try {
+            Files.createDirectories(dumpDirectory);
+            recording.dump(dumpDirectory.resolve(name));
+            lastDump = now;
+            List<String> dumps = listDumps();
+            for (String old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+                Files.deleteIfExists(dumpDirectory.resolve(old));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return name;
+    }
+
+    /**
+     * Lists the dumps of the continuous recording, oldest first.
+     *
+     * @return the names of the dump files
+     */
+    public List<String> listDumps() {
+        if (!Files.isDirectory(dumpDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> DUMP_NAME.matcher(name).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Summarizes a dump of the continuous recording.
+     *
+     * @param name the name of the dump file
+     * @return the summary of the dump
+     * @throws IllegalArgumentException if there is no dump with that name
+     */
+    public ProfileSummary summarizeDump(String name) {
+        Path file = dumpDirectory.resolve(name);
+        if (!DUMP_NAME.matcher(name).matches() || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No profiling dump named " + name);
+        }
+        try {
+            return JfrSummarizer.summarize(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retrieves the longest allowed on-demand recording.
+     *
+     * @return the maximum duration
+     */
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Stops the continuous recording and the scheduler.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        Recording recording = continuousRecording;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private static void enableAttributionEvents(Recording recording) {
+        recording.enable("intershop.Request").withThreshold(Duration.ZERO);
+        recording.enable("intershop.ServiceCall").withThreshold(Duration.ZERO);
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR configuration " + name + " is not available", e);
+        }
+    }
+}
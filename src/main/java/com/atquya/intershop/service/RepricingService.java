@@ -0,0 +1,369 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.dto.RepricingProgress;
+import com.atquya.intershop.dto.RepricingRequest;
+import com.atquya.intershop.entities.RepricingCheckpoint;
+import com.atquya.intershop.entities.RepricingJob;
+import com.atquya.intershop.entities.RepricingMode;
+import com.atquya.intershop.entities.RepricingStatus;
+import com.atquya.intershop.events.ProductChangedEvent;
+import com.atquya.intershop.repository.ProductsRepository;
+import com.atquya.intershop.repository.RepricingCheckpointsRepository;
+import com.atquya.intershop.repository.RepricingJobsRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The RepricingService class runs bulk price changes over the product catalog.
+ * A job splits the product ID range, or the uploaded price list, into chunks and updates each chunk
+ * with one set-based UPDATE on a dedicated fork-join pool. Every chunk is checkpointed in the same
+ * transaction as its update, so a cancelled, failed or interrupted job can be resumed without
+ * applying any chunk twice.
+ */
+@Service
+public class RepricingService {
+    private final ProductsRepository productsRepository;
+    private final RepricingJobsRepository repricingJobsRepository;
+    private final RepricingCheckpointsRepository repricingCheckpointsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultChunkSize;
+    private final ForkJoinPool pool;
+    private final Map<Long, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a RepricingService.
+     *
+     * @param productsRepository             the repository for managing Product entities
+     * @param repricingJobsRepository        the repository for managing RepricingJob entities
+     * @param repricingCheckpointsRepository the repository for managing RepricingCheckpoint entities
+     * @param jdbcTemplate                   the template for price list updates
+     * @param transactionManager             the manager of the per-chunk transactions
+     * @param catalogSnapshotService         the catalog snapshot refreshed after a job
+     * @param eventPublisher                 the publisher of product change events
+     * @param defaultChunkSize               the number of IDs per chunk when the request does not say
+     * @param parallelism                    the number of chunks updated at the same time
+     */
+    @Autowired
+    public RepricingService(ProductsRepository productsRepository,
+                            RepricingJobsRepository repricingJobsRepository,
+                            RepricingCheckpointsRepository repricingCheckpointsRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            CatalogSnapshotService catalogSnapshotService,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${intershop.repricing.chunk-size:1000}") int defaultChunkSize,
+                            @Value("${intershop.repricing.parallelism:4}") int parallelism) {
+        this.productsRepository = productsRepository;
+        this.repricingJobsRepository = repricingJobsRepository;
+        this.repricingCheckpointsRepository = repricingCheckpointsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.eventPublisher = eventPublisher;
+        this.defaultChunkSize = defaultChunkSize;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Starts a job applying a percentage or absolute adjustment to a product ID range.
+     *
+     * @param request the rule to apply
+     * @return the started job
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public RepricingJob startRuleJob(RepricingRequest request) {
+        if (request.mode() != RepricingMode.PERCENT && request.mode() != RepricingMode.ABSOLUTE) {
+            throw new IllegalArgumentException("Mode must be PERCENT or ABSOLUTE: " + request.mode());
+        }
+        if (request.mode() == RepricingMode.PERCENT && request.amount() <= -100) {
+            throw new IllegalArgumentException("Percentage must be greater than -100: " + request.amount());
+        }
+        Long fromId = request.fromId() != null ? request.fromId() : productsRepository.findMinId();
+        Long toId = request.toId() != null ? request.toId() : productsRepository.findMaxId();
+        if (fromId == null || toId == null || fromId > toId) {
+            throw new IllegalArgumentException("Empty product ID range: " + fromId + ".." + toId);
+        }
+        int chunkSize = chunkSizeOf(request.chunkSize());
+
+        RepricingJob job = new RepricingJob();
+        job.setMode(request.mode());
+        job.setAmount(request.amount());
+        job.setFromId(fromId);
+        job.setToId(toId);
+        job.setChunkSize(chunkSize);
+        job.setTotalChunks(Math.toIntExact((toId - fromId) / chunkSize + 1));
+        return launch(job);
+    }
+
+    /**
+     * Starts a job setting the prices of an uploaded price list.
+     *
+     * @param priceList the new prices, keyed by product ID
+     * @param chunkSize the number of entries updated per statement, or null for the default
+     * @return the started job
+     * @throws IllegalArgumentException if the price list is empty or holds a negative price
+     */
+    public RepricingJob startPriceListJob(Map<Long, Double> priceList, Integer chunkSize) {
+        if (priceList.isEmpty()) {
+            throw new IllegalArgumentException("Price list is empty");
+        }
+        if (priceList.values().stream().anyMatch(price -> price == null || price < 0)) {
+            throw new IllegalArgumentException("Prices must be non-negative");
+        }
+        RepricingJob job = new RepricingJob();
+        job.setMode(RepricingMode.PRICE_LIST);
+        job.setPriceList(priceList);
+        job.setChunkSize(chunkSizeOf(chunkSize));
+        job.setTotalChunks((priceList.size() + job.getChunkSize() - 1) / job.getChunkSize());
+        return launch(job);
+    }
+
+    /**
+     * Resumes a job that was cancelled, failed or interrupted, skipping its completed chunks.
+     *
+     * @param id the ID of the job
+     * @return the resumed job
+     * @throws IllegalArgumentException if the job is not found, running or completed
+     */
+    public RepricingJob resume(Long id) {
+        RepricingJob job = repricingJobsRepository.findWithPriceListById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Repricing job not found with ID: " + id));
+        if (runningJobs.containsKey(id) || job.getStatus() == RepricingStatus.COMPLETED) {
+            throw new IllegalArgumentException("Repricing job " + id + " is " + (runningJobs.containsKey(id) ? "running" : "completed"));
+        }
+        return launch(job);
+    }
+
+    /**
+     * Asks a running job to stop. Chunks already being updated finish; the rest are skipped.
+     *
+     * @param id the ID of the job
+     * @throws IllegalArgumentException if the job is not running on this node
+     */
+    public void cancel(Long id) {
+        RunningJob running = runningJobs.get(id);
+        if (running == null) {
+            throw new IllegalArgumentException("Repricing job is not running with ID: " + id);
+        }
+        running.cancelled.set(true);
+    }
+
+    /**
+     * Reports the progress of a job.
+     *
+     * @param id the ID of the job
+     * @return the progress of the job
+     * @throws IllegalArgumentException if the job is not found
+     */
+    public RepricingProgress getProgress(Long id) {
+        RunningJob running = runningJobs.get(id);
+        if (running != null) {
+            double seconds = Math.max(Duration.between(running.job.getStartedAt(), Instant.now()).toNanos() / 1e9, 1e-9);
+            return new RepricingProgress(id, RepricingStatus.RUNNING, running.job.getTotalChunks(), running.completedChunks.get(),
+                    running.previousRows + running.rowsUpdated.sum(), running.rowsUpdated.sum() / seconds,
+                    running.job.getStartedAt(), null);
+        }
+        RepricingJob job = repricingJobsRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Repricing job not found with ID: " + id));
+        int completedChunks = repricingCheckpointsRepository.findChunkIndexesByJobId(id).size();
+        double rowsPerSecond = 0;
+        if (job.getStartedAt() != null && job.getFinishedAt() != null) {
+            double seconds = Math.max(Duration.between(job.getStartedAt(), job.getFinishedAt()).toNanos() / 1e9, 1e-9);
+            rowsPerSecond = job.getRowsUpdated() / seconds;
+        }
+        return new RepricingProgress(id, job.getStatus(), job.getTotalChunks(), completedChunks,
+                job.getRowsUpdated(), rowsPerSecond, job.getStartedAt(), job.getFinishedAt());
+    }
+
+    /**
+     * Stops the repricing pool. Running chunks are interrupted and their jobs can be resumed later.
+     */
+    @PreDestroy
+    public void shutdown() {
+        runningJobs.values().forEach(running -> running.cancelled.set(true));
+        pool.shutdownNow();
+    }
+
+    private RepricingJob launch(RepricingJob job) {
+        job.setStatus(RepricingStatus.RUNNING);
+        job.setStartedAt(Instant.now());
+        job.setFinishedAt(null);
+        job.setFailure(null);
+        RepricingJob savedJob = repricingJobsRepository.save(job);
+
+        Set<Integer> completedChunks = new HashSet<>(repricingCheckpointsRepository.findChunkIndexesByJobId(savedJob.getId()));
+        long previousRows = repricingCheckpointsRepository.sumRowsUpdatedByJobId(savedJob.getId());
+        RunningJob running = new RunningJob(savedJob, job.getPriceList(), completedChunks, previousRows);
+        if (runningJobs.putIfAbsent(savedJob.getId(), running) != null) {
+            throw new IllegalArgumentException("Repricing job " + savedJob.getId() + " is running");
+        }
+        pool.execute(() -> run(running));
+        return savedJob;
+    }
+
+    private void run(RunningJob running) {
+        try {
+            new ChunkRange(running, 0, running.job.getTotalChunks()).invoke();
+        } catch (RuntimeException e) {
+            running.failure.compareAndSet(null, e);
+        } finally {
+            finish(running);
+        }
+    }
+
+    private void finish(RunningJob running) {
+        RepricingJob job = running.job;
+        try {
+            Throwable failure = running.failure.get();
+            RepricingStatus status = failure != null ? RepricingStatus.FAILED
+                    : running.cancelled.get() ? RepricingStatus.CANCELLED
+                    : RepricingStatus.COMPLETED;
+            repricingJobsRepository.finish(job.getId(), status,
+                    repricingCheckpointsRepository.sumRowsUpdatedByJobId(job.getId()), Instant.now(),
+                    failure != null ? String.valueOf(failure.getMessage()) : null);
+        } finally {
+            runningJobs.remove(job.getId());
+        }
+        if (running.rowsUpdated.sum() > 0) {
+            // The export drops the local writes that predate the new prices, and subscribers told about the
+            // change must not read those back, so they are only notified once the new snapshot is mapped.
+            if (catalogSnapshotService.isLoaded()) {
+                catalogSnapshotService.export();
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(null, null));
+        }
+    }
+
+    private void runChunk(RunningJob running, int chunkIndex) {
+        if (running.cancelled.get() || running.failure.get() != null || running.completedChunkIndexes.contains(chunkIndex)) {
+            return;
+        }
+        RepricingJob job = running.job;
+        Integer rows = transactionTemplate.execute(status -> {
+            int updated = updateChunk(running, chunkIndex);
+            repricingCheckpointsRepository.save(new RepricingCheckpoint(job.getId(), chunkIndex, updated));
+            return updated;
+        });
+        running.rowsUpdated.add(rows != null ? rows : 0);
+        running.completedChunks.incrementAndGet();
+    }
+
+    private int updateChunk(RunningJob running, int chunkIndex) {
+        RepricingJob job = running.job;
+        if (job.getMode() == RepricingMode.PRICE_LIST) {
+            return updatePriceListChunk(running, chunkIndex);
+        }
+        long fromId = job.getFromId() + (long) chunkIndex * job.getChunkSize();
+        long toId = Math.min(job.getToId(), fromId + job.getChunkSize() - 1);
+        if (job.getMode() == RepricingMode.PERCENT) {
+            return productsRepository.scalePrices(fromId, toId, 1 + job.getAmount() / 100);
+        }
+        return productsRepository.shiftPrices(fromId, toId, job.getAmount());
+    }
+
+    private int updatePriceListChunk(RunningJob running, int chunkIndex) {
+        int from = chunkIndex * running.job.getChunkSize();
+        int to = Math.min(running.priceListIds.length, from + running.job.getChunkSize());
+        StringBuilder sql = new StringBuilder("update product set price = case id");
+        Object[] args = new Object[(to - from) * 3];
+        int arg = 0;
+        for (int i = from; i < to; i++) {
+            sql.append(" when ? then ?");
+            args[arg++] = running.priceListIds[i];
+            args[arg++] = running.priceListPrices[i];
+        }
+        sql.append(" end where id in (");
+        for (int i = from; i < to; i++) {
+            sql.append(i == from ? "?" : ", ?");
+            args[arg++] = running.priceListIds[i];
+        }
+        sql.append(')');
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private int chunkSizeOf(Integer requested) {
+        int chunkSize = requested != null ? requested : defaultChunkSize;
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        return chunkSize;
+    }
+
+    private final class ChunkRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RunningJob running;
+        private final int from;
+        private final int to;
+
+        ChunkRange(RunningJob running, int from, int to) {
+            this.running = running;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (running.cancelled.get() || running.failure.get() != null) {
+                return;
+            }
+            if (to - from == 1) {
+                try {
+                    runChunk(running, from);
+                } catch (RuntimeException e) {
+                    running.failure.compareAndSet(null, e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRange(running, from, middle), new ChunkRange(running, middle, to));
+        }
+    }
+
+    private static final class RunningJob {
+        private final RepricingJob job;
+        private final long[] priceListIds;
+        private final double[] priceListPrices;
+        private final Set<Integer> completedChunkIndexes;
+        private final long previousRows;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicInteger completedChunks;
+        private final LongAdder rowsUpdated = new LongAdder();
+
+        RunningJob(RepricingJob job, Map<Long, Double> priceList, Set<Integer> completedChunkIndexes, long previousRows) {
+            this.job = job;
+            this.priceListIds = priceList.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            this.priceListPrices = new double[priceListIds.length];
+            for (int i = 0; i < priceListIds.length; i++) {
+                priceListPrices[i] = priceList.get(priceListIds[i]);
+            }
+            this.completedChunkIndexes = Collections.unmodifiableSet(completedChunkIndexes);
+            this.previousRows = previousRows;
+            this.completedChunks = new AtomicInteger(completedChunkIndexes.size());
+        }
+    }
+}
@@ -2,11 +2,17 @@ package com.atquya.intershop.service;
 
 import com.atquya.intershop.entities.CartItem;
 import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.events.CartChangedEvent;
+import com.atquya.intershop.profiling.Profiled;
 import com.atquya.intershop.repository.CartItemsRepository;
 import com.atquya.intershop.repository.ProductsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,35 +22,52 @@ import java.util.Optional;
  * changing the quantity of items in the cart, and retrieving the contents of the cart.
  */
 @Service
+@Profiled
 public class ShoppingCartsService {
     private final CartItemsRepository cartItemsRepository;
     private final ProductsRepository productsRepository;
+    private final CartExpiryService cartExpiryService;
+    private final ProductLoader productLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructs a ShoppingCartService with the specified repositories.
      *
      * @param cartItemsRepository the repository for managing CartItem entities
      * @param productsRepository the repository for managing Product entities
+     * @param cartExpiryService the service expiring abandoned cart items
+     * @param productLoader the loader coalescing concurrent product lookups
+     * @param eventPublisher the publisher of cart change events
+     * @param transactionManager the manager of the cart update transactions
      */
     @Autowired
-    public ShoppingCartsService(CartItemsRepository cartItemsRepository, ProductsRepository productsRepository) {
+    public ShoppingCartsService(CartItemsRepository cartItemsRepository, ProductsRepository productsRepository, CartExpiryService cartExpiryService, ProductLoader productLoader, ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.cartItemsRepository = cartItemsRepository;
         this.productsRepository = productsRepository;
+        this.cartExpiryService = cartExpiryService;
+        this.productLoader = productLoader;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Adds a product to the shopping cart with the specified quantity.
      * If the product is already in the cart, the quantity is updated.
+     * The product lookup is coalesced by the loader on its own threads, so it runs before the transaction
+     * starts; a caller holding a connection while it waits could starve the loader of connections.
      *
      * @param productId the ID of the product to add
      * @param quantity the quantity of the product to add
      * @throws IllegalArgumentException if the product is not found with the specified ID
      */
-    @Transactional
     public void addProductToCart(Long productId, int quantity) {
-        Optional<Product> productOptional = productsRepository.findById(productId);
-        if (productOptional.isPresent()) {
-            Product product = productOptional.get();
+        if (productLoader.get(productId).isEmpty()) {
+            throw new IllegalArgumentException("Product not found with ID: " + productId);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // The loaded product is detached and shared between callers, so attach a reference instead.
+            Product product = productsRepository.getReferenceById(productId);
             CartItem cartItem = cartItemsRepository.findByProduct(new Product());
 
             if (cartItem != null) {
@@ -53,10 +76,11 @@ public class ShoppingCartsService {
                 cartItem = new CartItem(product, quantity);
             }
 
-            cartItemsRepository.save(cartItem);
-        } else {
-            throw new IllegalArgumentException("Product not found with ID: " + productId);
-        }
+            cartItem.setLastModified(Instant.now());
+            CartItem savedCartItem = cartItemsRepository.save(cartItem);
+            cartExpiryService.touch(savedCartItem);
+            eventPublisher.publishEvent(new CartChangedEvent(savedCartItem.getId(), savedCartItem.getQuantity()));
+        });
     }
 
     /**
@@ -71,6 +95,8 @@ public class ShoppingCartsService {
         if (cartItemOptional.isPresent()) {
             CartItem cartItem = cartItemOptional.get();
             cartItemsRepository.delete(cartItem);
+            cartExpiryService.forget(cartItemId);
+            eventPublisher.publishEvent(new CartChangedEvent(cartItemId, 0));
         } else {
             throw new IllegalArgumentException("Cart item not found with ID: " + cartItemId);
         }
@@ -89,7 +115,9 @@ public class ShoppingCartsService {
         if (cartItemOptional.isPresent()) {
             CartItem cartItem = cartItemOptional.get();
             cartItem.setQuantity(newQuantity);
-            cartItemsRepository.save(cartItem);
+            cartItem.setLastModified(Instant.now());
+            cartExpiryService.touch(cartItemsRepository.save(cartItem));
+            eventPublisher.publishEvent(new CartChangedEvent(cartItemId, newQuantity));
         } else {
             throw new IllegalArgumentException("Cart item not found with ID: " + cartItemId);
         }
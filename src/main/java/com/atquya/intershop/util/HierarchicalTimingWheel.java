@@ -0,0 +1,232 @@
+package com.atquya.intershop.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The HierarchicalTimingWheel class schedules keyed deadlines in constant time.
+ * Each level of the wheel covers {@code 2^bitsPerLevel} times the span of the level below it;
+ * timers are placed on the lowest level that can hold them and cascade down as time advances.
+ * Scheduling an already scheduled key moves its deadline, and cancelling a key unlinks it
+ * from its slot without scanning.
+ *
+ * @param <K> the type of the keys being scheduled
+ */
+public class HierarchicalTimingWheel<K> {
+    private final long tickMillis;
+    private final int bitsPerLevel;
+    private final int mask;
+    private final Slot<K>[][] levels;
+    private final Slot<K> overflow = new Slot<>();
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Constructs a HierarchicalTimingWheel.
+     *
+     * @param tickMillis   the duration of one tick of the lowest level, in milliseconds
+     * @param bitsPerLevel the number of slots per level, as a power of two
+     * @param levelCount   the number of levels in the wheel
+     * @param startMillis  the current time, in epoch milliseconds
+     * @throws IllegalArgumentException if the wheel dimensions are out of range
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HierarchicalTimingWheel(long tickMillis, int bitsPerLevel, int levelCount, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickMillis);
+        }
+        if (bitsPerLevel < 1 || levelCount < 1 || bitsPerLevel * levelCount > 62) {
+            throw new IllegalArgumentException("Invalid wheel dimensions: " + bitsPerLevel + " bits x " + levelCount + " levels");
+        }
+        this.tickMillis = tickMillis;
+        this.bitsPerLevel = bitsPerLevel;
+        this.mask = (1 << bitsPerLevel) - 1;
+        this.levels = new Slot[levelCount][1 << bitsPerLevel];
+        for (Slot<K>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules the key to expire at the given deadline, replacing any earlier schedule for it.
+     * Deadlines in the past expire on the next tick.
+     *
+     * @param key            the key to schedule
+     * @param deadlineMillis the deadline, in epoch milliseconds
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Timer<K> timer = timers.get(key);
+        if (timer == null) {
+            timer = new Timer<>(key);
+            timers.put(key, timer);
+        } else {
+            timer.unlink();
+        }
+        timer.deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        place(timer);
+    }
+
+    /**
+     * Schedules the key only if it is not already scheduled.
+     *
+     * @param key            the key to schedule
+     * @param deadlineMillis the deadline, in epoch milliseconds
+     * @return true if the key was scheduled, false if it already had a deadline
+     */
+    public synchronized boolean scheduleIfAbsent(K key, long deadlineMillis) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        schedule(key, deadlineMillis);
+        return true;
+    }
+
+    /**
+     * Cancels the deadline of the key.
+     *
+     * @param key the key to cancel
+     * @return true if the key was scheduled, false otherwise
+     */
+    public synchronized boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.unlink();
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and hands every key whose deadline has passed to the callback.
+     * Expired keys are removed from the wheel before the callback is invoked.
+     *
+     * @param nowMillis the current time, in epoch milliseconds
+     * @param onExpired the callback receiving the expired keys
+     * @return the number of expired keys
+     */
+    public synchronized int advance(long nowMillis, Consumer<? super K> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+        while (currentTick < targetTick) {
+            if (timers.isEmpty()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            Slot<K> slot = levels[0][(int) (currentTick & mask)];
+            Timer<K> timer;
+            while ((timer = slot.poll()) != null) {
+                timers.remove(timer.key);
+                onExpired.accept(timer.key);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Retrieves the number of scheduled keys.
+     *
+     * @return the number of scheduled keys
+     */
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    private void place(Timer<K> timer) {
+        long deadline = timer.deadlineTick;
+        for (int level = 0; level < levels.length; level++) {
+            int shift = bitsPerLevel * (level + 1);
+            if ((deadline >>> shift) == (currentTick >>> shift)) {
+                levels[level][(int) ((deadline >>> (bitsPerLevel * level)) & mask)].add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private void cascade() {
+        int wrapped = 0;
+        while (wrapped < levels.length && (currentTick & ((1L << (bitsPerLevel * (wrapped + 1))) - 1)) == 0) {
+            wrapped++;
+        }
+        if (wrapped == levels.length) {
+            replace(overflow);
+        }
+        for (int level = Math.min(wrapped, levels.length - 1); level >= 1; level--) {
+            replace(levels[level][(int) ((currentTick >>> (bitsPerLevel * level)) & mask)]);
+        }
+    }
+
+    private void replace(Slot<K> slot) {
+        Timer<K> timer = slot.detachAll();
+        while (timer != null) {
+            Timer<K> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private static final class Slot<K> {
+        private final Timer<K> head = new Timer<>(null);
+
+        Slot() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timer<K> timer) {
+            timer.prev = head.prev;
+            timer.next = head;
+            head.prev.next = timer;
+            head.prev = timer;
+        }
+
+        Timer<K> poll() {
+            Timer<K> timer = head.next;
+            if (timer == head) {
+                return null;
+            }
+            timer.unlink();
+            return timer;
+        }
+
+        Timer<K> detachAll() {
+            Timer<K> first = head.next;
+            if (first == head) {
+                return null;
+            }
+            head.prev.next = null;
+            head.prev = head;
+            head.next = head;
+            return first;
+        }
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private long deadlineTick;
+        private Timer<K> prev;
+        private Timer<K> next;
+
+        Timer(K key) {
+            this.key = key;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
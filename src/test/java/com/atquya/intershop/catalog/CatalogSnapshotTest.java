@@ -0,0 +1,107 @@
+package com.atquya.intershop.catalog;
+
+import com.atquya.intershop.entities.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The CatalogSnapshotTest class contains unit tests for the CatalogSnapshot class.
+ */
+class CatalogSnapshotTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that written products are read back by id, with names pooled and nulls preserved.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Test
+    public void testWriteAndRead() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshot.write(path, List.of(
+                product(30L, "Mug", 7.5),
+                product(10L, "Tee été", 19.99),
+                product(20L, "Mug", 8.25),
+                product(40L, null, 1.0)));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+
+        assertEquals(4, snapshot.size());
+        assertEquals(10L, snapshot.idAt(0));
+        assertEquals("Tee été", snapshot.findById(10L).orElseThrow().getName());
+        assertEquals(8.25, snapshot.findById(20L).orElseThrow().getPrice());
+        assertEquals("Mug", snapshot.nameAt(snapshot.indexOf(30L)));
+        assertNull(snapshot.findById(40L).orElseThrow().getName());
+        assertTrue(snapshot.findById(25L).isEmpty());
+        assertTrue(snapshot.findById(50L).isEmpty());
+    }
+
+    /**
+     * Tests that an empty catalog produces a valid snapshot.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Test
+    public void testEmptyCatalog() throws IOException {
+        Path path = directory.resolve("empty.snapshot");
+        CatalogSnapshot.write(path, List.of());
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+
+        assertEquals(0, snapshot.size());
+        assertTrue(snapshot.findById(1L).isEmpty());
+    }
+
+    /**
+     * Tests that a snapshot of another format version is rejected.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Test
+    public void testRejectsOtherVersion() throws IOException {
+        Path path = directory.resolve("future.snapshot");
+        ByteBuffer header = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(CatalogSnapshot.MAGIC).putInt(CatalogSnapshot.FORMAT_VERSION + 1).putInt(0).putInt(0).putLong(0);
+        Files.write(path, header.array());
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(path));
+    }
+
+    /**
+     * Tests that the builder grows past its initial capacity and rejects ids out of order.
+     *
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @Test
+    public void testBuilderStreamsLargeCatalogs() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+        for (long id = 1; id <= 5000; id++) {
+            builder.add(id * 2, "Product " + (id % 100), id);
+        }
+        assertThrows(IllegalArgumentException.class, () -> builder.add(10, "Late", 1.0));
+        builder.write(path);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertEquals(5000, snapshot.size());
+        assertEquals("Product 99", snapshot.findById(9998).orElseThrow().getName());
+        assertEquals(4321.0, snapshot.findById(8642).orElseThrow().getPrice());
+        assertTrue(snapshot.findById(8643).isEmpty());
+    }
+
+    private static Product product(Long id, String name, double price) {
+        Product product = new Product(name, price);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,86 @@
+package com.atquya.intershop.controller;
+
+import com.atquya.intershop.events.ChangeEventHub;
+import com.atquya.intershop.service.CatalogSnapshotService;
+import com.atquya.intershop.service.ProductLoader;
+import com.atquya.intershop.service.ProfilingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The AdminControllerTest class contains unit tests for the AdminController class.
+ */
+@WebMvcTest(AdminController.class)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductLoader productLoader;
+
+    @MockBean
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @MockBean
+    private ChangeEventHub changeEventHub;
+
+    @MockBean
+    private ProfilingService profilingService;
+
+    @BeforeEach
+    public void setUp() {
+        when(profilingService.getMaxDuration()).thenReturn(Duration.ofMinutes(5));
+    }
+
+    /**
+     * Tests that profiling durations out of range are rejected with 400 before a recording is started.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testRejectsInvalidProfilingDuration() throws Exception {
+        mockMvc.perform(post("/api/admin/profile").param("seconds", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/profile").param("seconds", "301")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/profile").param("seconds", String.valueOf(Long.MAX_VALUE))).andExpect(status().isBadRequest());
+        verify(profilingService, never()).profile(any());
+    }
+
+    /**
+     * Tests that a profiling request made while a recording is running is rejected with 409.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testRejectsConcurrentProfiling() throws Exception {
+        when(profilingService.profile(any())).thenThrow(new IllegalStateException("A profiling recording is already running"));
+
+        mockMvc.perform(post("/api/admin/profile").param("seconds", "10")).andExpect(status().isConflict());
+    }
+
+    /**
+     * Tests that dump requests are mapped to 409 when continuous profiling is off and 404 for unknown dumps.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testMapsDumpErrors() throws Exception {
+        when(profilingService.dump()).thenThrow(new IllegalStateException("Continuous profiling is not enabled"));
+        when(profilingService.summarizeDump(any())).thenThrow(new IllegalArgumentException("No profiling dump named x.jfr"));
+
+        mockMvc.perform(post("/api/admin/profile/dumps")).andExpect(status().isConflict());
+        mockMvc.perform(get("/api/admin/profile/dumps/x.jfr")).andExpect(status().isNotFound());
+    }
+}
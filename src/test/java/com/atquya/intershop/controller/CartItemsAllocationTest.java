@@ -0,0 +1,85 @@
+package com.atquya.intershop.controller;
+
+import com.atquya.intershop.dto.CartItemDto;
+import com.atquya.intershop.dto.DtoSerializers;
+import com.atquya.intershop.dto.ProductDto;
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.service.DtoMapper;
+import com.atquya.intershop.service.DtoMapperImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The CartItemsAllocationTest class guards the number of bytes allocated to build an {@code /api/cart/items} response.
+ * Only the DTO mapping and the JSON serialization into a reused buffer are measured, so the budget does not
+ * depend on the servlet dispatch around them. Raise the budget only with a reason.
+ */
+class CartItemsAllocationTest {
+    private static final int CART_SIZE = 20;
+    private static final int WARMUP_RESPONSES = 20_000;
+    private static final int MEASURED_RESPONSES = 5_000;
+    // Measured at 12,472 bytes per response on JDK 17 (the same in three runs), plus ~7% headroom.
+    // A regression of a few dozen bytes per cart item should fail this test.
+    private static final long BYTES_PER_RESPONSE_BUDGET = 13 * 1024;
+
+    private final DtoMapper dtoMapper = new DtoMapperImpl();
+
+    /**
+     * Tests that the response for a cart of {@value CART_SIZE} items stays within the allocation budget.
+     *
+     * @throws IOException if the response cannot be written.
+     */
+    @Test
+    public void testGetShoppingCartAllocationBudget() throws IOException {
+        List<CartItem> cartItems = new ArrayList<>();
+        for (long i = 1; i <= CART_SIZE; i++) {
+            Product product = new Product("Product " + i, 9.99 + i);
+            product.setId(i);
+            CartItem cartItem = new CartItem(product, (int) i);
+            cartItem.setId(i);
+            cartItem.setLastModified(Instant.parse("2026-01-01T00:00:00Z"));
+            cartItems.add(cartItem);
+        }
+        SimpleModule serializers = new SimpleModule()
+                .addSerializer(ProductDto.class, new DtoSerializers.ProductDtoSerializer())
+                .addSerializer(CartItemDto.class, new DtoSerializers.CartItemDtoSerializer());
+        ObjectWriter writer = new ObjectMapper().registerModule(serializers)
+                .writerFor(new TypeReference<List<CartItemDto>>() {
+                });
+        ByteArrayOutputStream sink = new ByteArrayOutputStream(8 * 1024);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_RESPONSES; i++) {
+            writeShoppingCart(cartItems, writer, sink);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_RESPONSES; i++) {
+            writeShoppingCart(cartItems, writer, sink);
+        }
+        long bytesPerResponse = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED_RESPONSES;
+
+        assertTrue(bytesPerResponse <= BYTES_PER_RESPONSE_BUDGET,
+                "The /api/cart/items response allocated " + bytesPerResponse + " bytes, budget is " + BYTES_PER_RESPONSE_BUDGET);
+    }
+
+    private void writeShoppingCart(List<CartItem> cartItems, ObjectWriter writer, ByteArrayOutputStream sink) throws IOException {
+        sink.reset();
+        writer.writeValue(sink, dtoMapper.toCartItemDtos(cartItems));
+    }
+}
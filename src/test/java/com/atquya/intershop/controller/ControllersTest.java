@@ -4,12 +4,20 @@ import com.atquya.intershop.entities.CartItem;
 import com.atquya.intershop.entities.Product;
 import com.atquya.intershop.repository.CartItemsRepository;
 import com.atquya.intershop.repository.ProductsRepository;
+import com.atquya.intershop.service.CartExpiryService;
+import com.atquya.intershop.service.CartItemsService;
+import com.atquya.intershop.service.CatalogSnapshotService;
+import com.atquya.intershop.service.DtoMapperImpl;
+import com.atquya.intershop.service.PricingService;
+import com.atquya.intershop.service.ProductLoader;
 import com.atquya.intershop.service.ShoppingCartsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +36,7 @@ import static org.mockito.Mockito.*;
  */
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(ControllerAll.class)
+@Import({ProductLoader.class, CartItemsService.class, DtoMapperImpl.class, CatalogSnapshotService.class})
 class ControllerAllTests {
     @Autowired
     private MockMvc mockMvc;
@@ -41,6 +50,15 @@ class ControllerAllTests {
     @MockBean
     private CartItemsRepository cartItemsRepository;
 
+    @MockBean
+    private CartExpiryService cartExpiryService;
+
+    @MockBean
+    private PricingService pricingService;
+
+    @MockBean
+    private JdbcTemplate jdbcTemplate;
+
     /**
      * Tests the addProductToCart() method of the Controller class.
      *
@@ -0,0 +1,193 @@
+package com.atquya.intershop.events;
+
+import com.atquya.intershop.dto.ProductDto;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.service.DtoMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ChangeEventHubTest class contains unit tests for the ChangeEventHub class.
+ */
+class ChangeEventHubTest {
+    private ChangeEventHub hub;
+
+    @BeforeEach
+    public void setUp() {
+        hub = new ChangeEventHub(new DtoMapperImpl(), 4, 2, Duration.ofMinutes(10), Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hub.shutdown();
+    }
+
+    /**
+     * Tests that changes only reach the subscribers interested in them.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testFanOutBySubscription() throws Exception {
+        RecordingSink cartSink = new RecordingSink();
+        RecordingSink productSink = new RecordingSink();
+        hub.subscribe(true, List.of(), cartSink);
+        hub.subscribe(false, List.of(1L, 2L), productSink);
+
+        Product product = new Product("Mug", 7.5);
+        product.setId(2L);
+        hub.onCartChanged(new CartChangedEvent(5L, 3));
+        hub.onProductChanged(new ProductChangedEvent(2L, product));
+        hub.onProductChanged(new ProductChangedEvent(3L, product));
+
+        ChangeNotification cartNotification = cartSink.next();
+        assertEquals("cart", cartNotification.type());
+        assertEquals(new CartChangedEvent(5L, 3), cartNotification.data());
+        ChangeNotification productNotification = productSink.next();
+        assertEquals("product", productNotification.type());
+        assertEquals(new ProductDto(2L, "Mug", 7.5), productNotification.data());
+        assertNull(cartSink.received.poll(100, TimeUnit.MILLISECONDS));
+        assertNull(productSink.received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Tests that a subscriber whose buffer overflows is disconnected without affecting the others.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testSlowConsumerIsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slowSink = new RecordingSink() {
+            @Override
+            public void send(ChangeNotification notification) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                super.send(notification);
+            }
+        };
+        RecordingSink fastSink = new RecordingSink();
+        hub.subscribe(true, List.of(), slowSink);
+        hub.subscribe(true, List.of(), fastSink);
+
+        for (int i = 0; i < 10; i++) {
+            hub.onCartChanged(new CartChangedEvent((long) i, i));
+            assertEquals(new CartChangedEvent((long) i, i), fastSink.next().data());
+        }
+        release.countDown();
+
+        assertTrue(slowSink.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, hub.getStats().droppedSubscribers());
+        assertEquals(1, hub.getStats().subscribers());
+    }
+
+    /**
+     * Tests that writes stalled past the write timeout on more connections than there are dispatcher
+     * threads neither hold back nor drop a healthy subscriber.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testStalledWritesDoNotStarveHealthySubscribers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingSink> stalledSinks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RecordingSink stalledSink = new RecordingSink() {
+                @Override
+                public void send(ChangeNotification notification) throws IOException {
+                    // Like a blocked socket write, ignore interrupts until the peer reads again.
+                    boolean interrupted = false;
+                    while (release.getCount() > 0) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.send(notification);
+                }
+            };
+            stalledSinks.add(stalledSink);
+            hub.subscribe(true, List.of(), stalledSink);
+        }
+        RecordingSink healthySink = new RecordingSink();
+        hub.subscribe(true, List.of(), healthySink);
+
+        try {
+            for (int i = 0; i < 20; i++) {
+                hub.onCartChanged(new CartChangedEvent((long) i, i));
+                assertEquals(new CartChangedEvent((long) i, i), healthySink.next().data());
+            }
+            assertEquals(3, hub.getStats().droppedSubscribers());
+            assertEquals(1, hub.getStats().subscribers());
+        } finally {
+            release.countDown();
+        }
+
+        for (RecordingSink stalledSink : stalledSinks) {
+            assertTrue(stalledSink.closed.await(5, TimeUnit.SECONDS));
+        }
+        hub.onCartChanged(new CartChangedEvent(99L, 1));
+        assertEquals(new CartChangedEvent(99L, 1), healthySink.next().data());
+    }
+
+    /**
+     * Tests that a subscriber whose connection fails is removed.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testFailedSinkIsRemoved() throws Exception {
+        RecordingSink brokenSink = new RecordingSink() {
+            @Override
+            public void send(ChangeNotification notification) throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+        hub.subscribe(true, List.of(1L), brokenSink);
+
+        hub.heartbeat();
+
+        assertTrue(brokenSink.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, hub.getStats().subscribers());
+    }
+
+    private static class RecordingSink implements ChangeSink {
+        final BlockingQueue<ChangeNotification> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(ChangeNotification notification) throws IOException {
+            received.add(notification);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        ChangeNotification next() throws InterruptedException {
+            ChangeNotification notification = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(notification, "no notification received");
+            return notification;
+        }
+    }
+}
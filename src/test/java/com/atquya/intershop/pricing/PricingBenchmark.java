@@ -0,0 +1,96 @@
+package com.atquya.intershop.pricing;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.PriceTier;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.entities.PromotionType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PricingBenchmark class measures how the cost of pricing a cart scales with the cart size and the number of promotions.
+ * It is not part of the test run; start it through {@link #main(String[])} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"1", "10", "100"})
+    public int cartSize;
+
+    @Param({"10", "100", "1000"})
+    public int ruleCount;
+
+    private PricingPlan plan;
+    private List<CartItem> cartItems;
+
+    /**
+     * Builds a random catalog, promotions and cart with a fixed seed.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Promotion> promotions = new ArrayList<>(ruleCount);
+        PromotionType[] types = PromotionType.values();
+        for (int i = 0; i < ruleCount; i++) {
+            PromotionType type = types[i % types.length];
+            Set<Long> productIds = new HashSet<>();
+            int coveredProducts = type == PromotionType.BUNDLE ? 2 : 1 + random.nextInt(20);
+            while (productIds.size() < coveredProducts) {
+                productIds.add(1L + random.nextInt(CATALOG_SIZE));
+            }
+            Promotion promotion = new Promotion("Promotion " + i, type, productIds);
+            promotion.setId((long) i);
+            promotion.setPercentOff(5 + random.nextInt(30));
+            promotion.setBuyQuantity(2);
+            promotion.setFreeQuantity(1);
+            promotion.setTiers(List.of(new PriceTier(3, 1.0), new PriceTier(10, 0.5)));
+            promotion.setBundlePrice(5.0);
+            promotions.add(promotion);
+        }
+        plan = PricingPlan.compile(promotions, Instant.now());
+
+        cartItems = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product("Product " + i, 1 + random.nextInt(100));
+            product.setId(1L + random.nextInt(CATALOG_SIZE));
+            cartItems.add(new CartItem(product, 1 + random.nextInt(12)));
+        }
+    }
+
+    /**
+     * Prices the cart with the compiled plan.
+     *
+     * @return the priced cart
+     */
+    @Benchmark
+    public PricedCart price() {
+        return plan.price(cartItems);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PricingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
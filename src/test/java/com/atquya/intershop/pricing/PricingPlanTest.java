@@ -0,0 +1,110 @@
+package com.atquya.intershop.pricing;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.PriceTier;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.entities.PromotionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PricingPlanTest class contains unit tests for the PricingPlan class.
+ */
+class PricingPlanTest {
+    private static final Instant NOW = Instant.parse("2026-06-01T12:00:00Z");
+
+    /**
+     * Tests each promotion type on its own.
+     */
+    @Test
+    public void testPromotionTypes() {
+        Promotion percentOff = promotion(1L, PromotionType.PERCENT_OFF, Set.of(1L));
+        percentOff.setPercentOff(10);
+        Promotion buyTwoGetOne = promotion(2L, PromotionType.BUY_X_GET_Y, Set.of(2L));
+        buyTwoGetOne.setBuyQuantity(2);
+        buyTwoGetOne.setFreeQuantity(1);
+        Promotion tiered = promotion(3L, PromotionType.TIERED, Set.of(3L));
+        tiered.setTiers(List.of(new PriceTier(5, 4.0), new PriceTier(10, 3.0)));
+        Promotion bundle = promotion(4L, PromotionType.BUNDLE, Set.of(4L, 5L));
+        bundle.setBundlePrice(15.0);
+
+        PricingPlan plan = PricingPlan.compile(List.of(percentOff, buyTwoGetOne, tiered, bundle), NOW);
+        PricedCart priced = plan.price(List.of(
+                cartItem(1L, 20.0, 1),
+                cartItem(2L, 3.0, 7),
+                cartItem(3L, 5.0, 6),
+                cartItem(4L, 10.0, 2),
+                cartItem(5L, 8.0, 1)));
+
+        assertEquals(4, plan.ruleCount());
+        assertEquals(20.0 + 21.0 + 30.0 + 20.0 + 8.0, priced.subtotal());
+        assertEquals(2.0 + 6.0 + 6.0 + 3.0, priced.discount());
+        assertEquals(priced.subtotal() - priced.discount(), priced.total());
+    }
+
+    /**
+     * Tests that the largest discount wins when two promotions claim the same line.
+     */
+    @Test
+    public void testLargestDiscountWinsPerLine() {
+        Promotion small = promotion(1L, PromotionType.PERCENT_OFF, Set.of(1L, 2L));
+        small.setPercentOff(10);
+        Promotion large = promotion(2L, PromotionType.PERCENT_OFF, Set.of(1L));
+        large.setPercentOff(50);
+
+        PricedCart priced = PricingPlan.compile(List.of(small, large), NOW)
+                .price(List.of(cartItem(1L, 10.0, 1), cartItem(2L, 10.0, 1)));
+
+        assertEquals(6.0, priced.discount());
+        assertEquals(2, priced.adjustments().size());
+        assertEquals(2L, priced.adjustments().get(0).promotionId());
+    }
+
+    /**
+     * Tests that promotions outside their period are left out and bound the plan's validity.
+     */
+    @Test
+    public void testPromotionPeriod() {
+        Promotion upcoming = promotion(1L, PromotionType.PERCENT_OFF, Set.of(1L));
+        upcoming.setPercentOff(10);
+        upcoming.setStartsAt(NOW.plusSeconds(60));
+
+        PricingPlan plan = PricingPlan.compile(List.of(upcoming), NOW);
+
+        assertEquals(0, plan.ruleCount());
+        assertTrue(plan.isValidAt(NOW.plusSeconds(59)));
+        assertFalse(plan.isValidAt(NOW.plusSeconds(60)));
+        assertEquals(0.0, plan.price(List.of(cartItem(1L, 10.0, 1))).discount());
+    }
+
+    /**
+     * Tests that invalid promotions are rejected.
+     */
+    @Test
+    public void testRejectsInvalidPromotion() {
+        Promotion noFreeUnits = promotion(1L, PromotionType.BUY_X_GET_Y, Set.of(1L));
+        noFreeUnits.setBuyQuantity(2);
+        Promotion singleProductBundle = promotion(2L, PromotionType.BUNDLE, Set.of(1L));
+
+        assertThrows(IllegalArgumentException.class, () -> PricingPlan.compileRule(noFreeUnits));
+        assertThrows(IllegalArgumentException.class, () -> PricingPlan.compileRule(singleProductBundle));
+    }
+
+    private static Promotion promotion(Long id, PromotionType type, Set<Long> productIds) {
+        Promotion promotion = new Promotion("Promotion " + id, type, productIds);
+        promotion.setId(id);
+        return promotion;
+    }
+
+    private static CartItem cartItem(Long productId, double price, int quantity) {
+        Product product = new Product("Product " + productId, price);
+        product.setId(productId);
+        return new CartItem(product, quantity);
+    }
+}
@@ -0,0 +1,107 @@
+package com.atquya.intershop.profiling;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JfrSummarizerTest class contains unit tests for the JfrSummarizer class.
+ */
+class JfrSummarizerTest {
+
+    /**
+     * Tests that waits are attributed to the request and to the innermost service call open on the thread.
+     */
+    @Test
+    public void testAttributesWaitsToEnclosingSpans(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("intershop.Request").withThreshold(Duration.ZERO);
+            recording.enable("intershop.ServiceCall").withThreshold(Duration.ZERO);
+            recording.enable("jdk.ThreadPark").withThreshold(Duration.ZERO);
+            recording.start();
+
+            RequestEvent request = new RequestEvent();
+            request.begin();
+            ServiceCallEvent outer = new ServiceCallEvent();
+            outer.begin();
+            ServiceCallEvent inner = new ServiceCallEvent();
+            inner.begin();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            commit(inner, "ProductLoader", "get");
+            commit(outer, "ShoppingCartsService", "addProductToCart");
+            request.method = "POST";
+            request.route = "/api/cart/add";
+            request.commit();
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        ProfileSummary summary = JfrSummarizer.summarize(file);
+
+        ProfileSummary.Entry endpoint = find(summary.endpoints().toArray(ProfileSummary.Entry[]::new), "POST /api/cart/add");
+        assertEquals(1, endpoint.calls());
+        assertTrue(endpoint.lockWaitMillis() >= 40 && endpoint.lockWaitMillis() < 90, "endpoint waited " + endpoint.lockWaitMillis());
+
+        ProfileSummary.Entry[] serviceMethods = summary.serviceMethods().toArray(ProfileSummary.Entry[]::new);
+        ProfileSummary.Entry inner = find(serviceMethods, "ProductLoader.get");
+        ProfileSummary.Entry outer = find(serviceMethods, "ShoppingCartsService.addProductToCart");
+        assertTrue(inner.lockWaitMillis() >= 40, "inner call waited " + inner.lockWaitMillis());
+        assertEquals(0, outer.lockWaitMillis());
+        assertTrue(outer.totalMillis() >= inner.totalMillis());
+    }
+
+    /**
+     * Tests that waiting for work handed to another thread counts towards the request's total but not its lock waits.
+     */
+    @Test
+    public void testIgnoresWaitsForFutures(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("intershop.Request").withThreshold(Duration.ZERO);
+            recording.enable("jdk.ThreadPark").withThreshold(Duration.ZERO);
+            recording.start();
+
+            RequestEvent request = new RequestEvent();
+            request.begin();
+            CompletableFuture.runAsync(() -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50))).join();
+            request.method = "GET";
+            request.route = "/api/products/{id}";
+            request.commit();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        ProfileSummary summary = JfrSummarizer.summarize(file);
+
+        ProfileSummary.Entry endpoint = find(summary.endpoints().toArray(ProfileSummary.Entry[]::new), "GET /api/products/{id}");
+        assertTrue(endpoint.totalMillis() >= 40, "request took " + endpoint.totalMillis());
+        assertEquals(0, endpoint.lockWaitMillis());
+    }
+
+    private static void commit(ServiceCallEvent event, String service, String method) {
+        event.service = service;
+        event.method = method;
+        event.commit();
+    }
+
+    private static ProfileSummary.Entry find(ProfileSummary.Entry[] entries, String name) {
+        for (ProfileSummary.Entry entry : entries) {
+            if (entry.name().equals(name)) {
+                return entry;
+            }
+        }
+        return fail("No entry for " + name);
+    }
+}
@@ -0,0 +1,33 @@
+package com.atquya.intershop.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The LatencyTrackerTest class contains unit tests for the LatencyTracker class.
+ */
+class LatencyTrackerTest {
+
+    /**
+     * Tests that percentiles are taken over the most recent durations only.
+     */
+    @Test
+    public void testPercentileOfRecentDurations() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        assertEquals(0, tracker.percentile(0.99));
+
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1_000_000_000L);
+        }
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertEquals(100, tracker.size());
+        assertEquals(99, tracker.percentile(0.99));
+        assertEquals(50, tracker.percentile(0.5));
+
+        tracker.reset();
+        assertEquals(0, tracker.size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.atquya.intershop.profiling;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The RequestProfilingInterceptorTest class contains unit tests for the RequestProfilingInterceptor class.
+ */
+class RequestProfilingInterceptorTest {
+
+    /**
+     * Tests that an async request is recorded once, from its first dispatch to the end of its last.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testAsyncRequestIsRecordedOnce() throws Exception {
+        RequestProfilingInterceptor interceptor = new RequestProfilingInterceptor();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart/items");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        Thread.sleep(50);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        LatencyTracker latencyTracker = interceptor.getLatencyTracker();
+        assertEquals(1, latencyTracker.size());
+        assertTrue(latencyTracker.percentile(1.0) >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
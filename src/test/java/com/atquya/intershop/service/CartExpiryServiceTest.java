@@ -0,0 +1,202 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.events.CartChangedEvent;
+import com.atquya.intershop.repository.CartItemsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The CartExpiryServiceTest class contains unit tests for the CartExpiryService class.
+ */
+class CartExpiryServiceTest {
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private CartItemsRepository cartItemsRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private MutableClock clock;
+    private CartExpiryService cartExpiryService;
+    private List<List<Long>> deletedBatches;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        cartItemsRepository = mock(CartItemsRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        clock = new MutableClock(START);
+        cartExpiryService = new CartExpiryService(cartItemsRepository, eventPublisher, clock, TTL, Duration.ofSeconds(1), 10, 2);
+        deletedBatches = new ArrayList<>();
+        when(cartItemsRepository.deleteExpired(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            deletedBatches.add(List.copyOf(ids));
+            return ids.size();
+        });
+    }
+
+    /**
+     * Tests that expired cart items are deleted in batches of at most the batch size,
+     * with at most the configured number of batches per sweep and the rest carried over.
+     */
+    @Test
+    public void testSweepDeletesInBoundedBatches() {
+        LongStream.rangeClosed(1, 25).forEach(id -> cartExpiryService.touch(cartItem(id, START)));
+
+        clock.advance(TTL.plusSeconds(2));
+        cartExpiryService.sweep();
+        assertEquals(2, deletedBatches.size());
+        assertTrue(deletedBatches.stream().allMatch(batch -> batch.size() == 10));
+
+        cartExpiryService.sweep();
+        assertEquals(3, deletedBatches.size());
+        assertEquals(5, deletedBatches.get(2).size());
+        assertEquals(25, deletedBatches.stream().mapToInt(List::size).sum());
+        verify(eventPublisher, times(3)).publishEvent(any(CartChangedEvent.class));
+
+        cartExpiryService.sweep();
+        assertEquals(3, deletedBatches.size());
+    }
+
+    /**
+     * Tests that nothing is deleted before the deadline.
+     */
+    @Test
+    public void testSweepKeepsItemsBeforeDeadline() {
+        cartExpiryService.touch(cartItem(1L, START));
+
+        clock.advance(TTL.minusSeconds(1));
+        cartExpiryService.sweep();
+
+        assertTrue(deletedBatches.isEmpty());
+        assertEquals(1, cartExpiryService.getScheduledCount());
+    }
+
+    /**
+     * Tests that a batch whose delete failed is retried on the next sweep.
+     */
+    @Test
+    public void testFailedBatchIsRequeued() {
+        cartExpiryService.touch(cartItem(1L, START));
+        cartExpiryService.touch(cartItem(2L, START));
+        doThrow(new RuntimeException("Lock wait timeout"))
+                .doAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    deletedBatches.add(List.copyOf(ids));
+                    return ids.size();
+                })
+                .when(cartItemsRepository).deleteExpired(anyCollection(), any());
+
+        clock.advance(TTL.plusSeconds(2));
+        assertThrows(RuntimeException.class, cartExpiryService::sweep);
+        assertTrue(deletedBatches.isEmpty());
+
+        cartExpiryService.sweep();
+        assertEquals(1, deletedBatches.size());
+        assertEquals(List.of(1L, 2L), deletedBatches.get(0).stream().sorted().toList());
+    }
+
+    /**
+     * Tests that the schedule is rebuilt from stored timestamps without overriding newer deadlines.
+     */
+    @Test
+    public void testRebuildSchedulesPersistedTimestamps() {
+        when(cartItemsRepository.findAllExpiryTimestamps()).thenReturn(List.of(
+                timestamp(1L, START.minus(TTL)),
+                timestamp(2L, START),
+                timestamp(3L, START.minus(TTL))));
+        cartExpiryService.touch(cartItem(3L, START));
+
+        cartExpiryService.rebuild();
+        verify(cartItemsRepository).backfillLastModified(START);
+        assertEquals(3, cartExpiryService.getScheduledCount());
+
+        clock.advance(Duration.ofSeconds(2));
+        cartExpiryService.sweep();
+        assertEquals(List.of(List.of(1L)), deletedBatches);
+    }
+
+    /**
+     * Tests that items touched again are not deleted at their old deadline, and that the delete
+     * statement is given the cutoff that leaves items changed after their deadline in place.
+     */
+    @Test
+    public void testTouchedItemsAreNotDeleted() {
+        cartExpiryService.touch(cartItem(1L, START));
+        cartExpiryService.touch(cartItem(2L, START));
+
+        clock.advance(TTL.minusSeconds(10));
+        cartExpiryService.touch(cartItem(2L, clock.instant()));
+        clock.advance(Duration.ofSeconds(12));
+        cartExpiryService.sweep();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(cartItemsRepository).deleteExpired(anyCollection(), cutoff.capture());
+        assertEquals(List.of(List.of(1L)), deletedBatches);
+        assertEquals(clock.instant().minus(TTL), cutoff.getValue());
+        assertEquals(1, cartExpiryService.getScheduledCount());
+    }
+
+    private static CartItem cartItem(Long id, Instant lastModified) {
+        CartItem cartItem = new CartItem();
+        cartItem.setId(id);
+        cartItem.setLastModified(lastModified);
+        return cartItem;
+    }
+
+    private static CartItemsRepository.ExpiryTimestamp timestamp(Long id, Instant lastModified) {
+        return new CartItemsRepository.ExpiryTimestamp() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The CatalogSnapshotServiceTest class contains unit tests for the CatalogSnapshotService class.
+ */
+class CatalogSnapshotServiceTest {
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        returnRows(product(10L, "Mug", 7.5), product(20L, "Tee", 19.99), product(30L, "Cap", 12.0));
+        catalogSnapshotService = new CatalogSnapshotService(jdbcTemplate, true, directory.resolve("catalog.snapshot"));
+        catalogSnapshotService.load();
+    }
+
+    /**
+     * Tests that local writes shadow the snapshot in single reads.
+     */
+    @Test
+    public void testOverlayShadowsSnapshot() {
+        catalogSnapshotService.apply(product(20L, "Tee", 17.99));
+        catalogSnapshotService.remove(30L);
+
+        assertEquals(7.5, catalogSnapshotService.findById(10L).orElseThrow().getPrice());
+        assertEquals(17.99, catalogSnapshotService.findById(20L).orElseThrow().getPrice());
+        assertTrue(catalogSnapshotService.findById(30L).isEmpty());
+
+        catalogSnapshotService.apply(product(30L, "Cap", 11.0));
+        assertEquals(11.0, catalogSnapshotService.findById(30L).orElseThrow().getPrice());
+    }
+
+    /**
+     * Tests that listing merges overlay entries into the snapshot in ID order.
+     */
+    @Test
+    public void testFindAllMergesOverlayInIdOrder() {
+        catalogSnapshotService.apply(product(5L, "Pen", 1.0));
+        catalogSnapshotService.apply(product(15L, "Bag", 25.0));
+        catalogSnapshotService.apply(product(20L, "Tee", 17.99));
+        catalogSnapshotService.apply(product(40L, "Hat", 9.0));
+        catalogSnapshotService.remove(10L);
+
+        List<Product> products = catalogSnapshotService.findAll().orElseThrow();
+
+        assertEquals(List.of(5L, 15L, 20L, 30L, 40L), products.stream().map(Product::getId).toList());
+        assertEquals(17.99, products.get(2).getPrice());
+    }
+
+    /**
+     * Tests that an export drops overlay entries written before it, even when the exported row
+     * has been changed since by another node or a bulk repricing.
+     */
+    @Test
+    public void testExportEvictsEarlierWritesRegardlessOfValue() {
+        catalogSnapshotService.apply(product(20L, "Tee", 17.99));
+        catalogSnapshotService.remove(30L);
+        returnRows(product(10L, "Mug", 7.5), product(20L, "Tee", 15.99), product(30L, "Cap", 12.0));
+
+        catalogSnapshotService.export();
+
+        assertEquals(0, catalogSnapshotService.getOverlaySize());
+        assertEquals(15.99, catalogSnapshotService.findById(20L).orElseThrow().getPrice());
+        assertEquals(12.0, catalogSnapshotService.findById(30L).orElseThrow().getPrice());
+    }
+
+    /**
+     * Tests that a write made while the export is reading the catalog outlives that export.
+     */
+    @Test
+    public void testExportKeepsWritesMadeDuringIt() {
+        doAnswer(invocation -> {
+            catalogSnapshotService.apply(product(20L, "Tee", 14.99));
+            processRows(invocation.getArgument(1), product(10L, "Mug", 7.5), product(20L, "Tee", 19.99));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        catalogSnapshotService.export();
+
+        assertEquals(1, catalogSnapshotService.getOverlaySize());
+        assertEquals(14.99, catalogSnapshotService.findById(20L).orElseThrow().getPrice());
+    }
+
+    /**
+     * Tests that a product without a name survives the export.
+     */
+    @Test
+    public void testExportKeepsNullNames() {
+        returnRows(product(10L, null, 7.5), product(20L, "Tee", 19.99));
+
+        catalogSnapshotService.export();
+
+        assertNull(catalogSnapshotService.findById(10L).orElseThrow().getName());
+        assertEquals("Tee", catalogSnapshotService.findById(20L).orElseThrow().getName());
+    }
+
+    private void returnRows(Product... products) {
+        doAnswer(invocation -> {
+            processRows(invocation.getArgument(1), products);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static void processRows(RowCallbackHandler handler, Product... products) throws SQLException {
+        for (Product product : products) {
+            ResultSet row = mock(ResultSet.class);
+            when(row.getLong(1)).thenReturn(product.getId());
+            when(row.getString(2)).thenReturn(product.getName());
+            when(row.getDouble(3)).thenReturn(product.getPrice());
+            handler.processRow(row);
+        }
+    }
+
+    private static Product product(Long id, String name, double price) {
+        Product product = new Product(name, price);
+        product.setId(id);
+        return product;
+    }
+}
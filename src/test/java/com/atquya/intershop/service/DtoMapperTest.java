@@ -0,0 +1,51 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.dto.PriceTierDto;
+import com.atquya.intershop.dto.PromotionDto;
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.entities.PromotionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DtoMapperTest class contains unit tests for the generated DtoMapper implementation.
+ */
+class DtoMapperTest {
+    private final DtoMapper dtoMapper = new DtoMapperImpl();
+
+    /**
+     * Tests that a promotion survives a round trip through its DTO.
+     */
+    @Test
+    public void testPromotionRoundTrip() {
+        PromotionDto dto = new PromotionDto(3L, "Bulk mugs", PromotionType.TIERED, false, null, null, Set.of(10L),
+                0, 0, 0, List.of(new PriceTierDto(10, 6.5)), 0);
+
+        Promotion promotion = dtoMapper.toEntity(dto);
+
+        assertFalse(promotion.isActive());
+        assertEquals(6.5, promotion.getTiers().get(0).getUnitPrice());
+        assertEquals(dto, dtoMapper.toDto(promotion));
+    }
+
+    /**
+     * Tests that omitted fields keep the entity defaults and leave mutable collections.
+     */
+    @Test
+    public void testPromotionDefaults() {
+        PromotionDto dto = new PromotionDto(null, "Mugs", PromotionType.PERCENT_OFF, null, null, null, null,
+                10, 0, 0, null, 0);
+
+        Promotion promotion = dtoMapper.toEntity(dto);
+
+        assertTrue(promotion.isActive());
+        assertTrue(promotion.getProductIds().isEmpty());
+        promotion.getProductIds().add(1L);
+        assertTrue(promotion.getTiers().isEmpty());
+        promotion.getTiers().clear();
+    }
+}
@@ -0,0 +1,84 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.entities.Promotion;
+import com.atquya.intershop.entities.PromotionType;
+import com.atquya.intershop.pricing.CartRevision;
+import com.atquya.intershop.pricing.PromotionsRevision;
+import com.atquya.intershop.repository.CartItemsRepository;
+import com.atquya.intershop.repository.PromotionsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The PricingServiceTest class contains unit tests for the PricingService class.
+ */
+class PricingServiceTest {
+    private static final Instant MODIFIED = Instant.parse("2026-06-01T12:00:00Z");
+
+    private PromotionsRepository promotionsRepository;
+    private CartItemsRepository cartItemsRepository;
+    private PricingService pricingService;
+
+    @BeforeEach
+    public void setUp() {
+        promotionsRepository = mock(PromotionsRepository.class);
+        cartItemsRepository = mock(CartItemsRepository.class);
+        pricingService = new PricingService(promotionsRepository, cartItemsRepository);
+        when(promotionsRepository.findRevision()).thenReturn(new PromotionsRevision(0L, null, null));
+        when(cartItemsRepository.findRevision()).thenReturn(new CartRevision(1L, MODIFIED, 20.0));
+        when(cartItemsRepository.findAll()).thenReturn(List.of(cartItem(1L, 10.0, 2)));
+    }
+
+    /**
+     * Tests that the priced cart is reused until the stored cart changes, including changes this node never saw.
+     */
+    @Test
+    public void testCartChangesInvalidateCachedPrice() {
+        assertEquals(20.0, pricingService.priceCart().total());
+        assertEquals(20.0, pricingService.priceCart().total());
+        verify(cartItemsRepository, times(1)).findAll();
+
+        when(cartItemsRepository.findRevision()).thenReturn(new CartRevision(1L, MODIFIED, 24.0));
+        when(cartItemsRepository.findAll()).thenReturn(List.of(cartItem(1L, 12.0, 2)));
+
+        assertEquals(24.0, pricingService.priceCart().total());
+        verify(cartItemsRepository, times(2)).findAll();
+    }
+
+    /**
+     * Tests that the plan is recompiled when the stored promotions change, including changes this node never saw.
+     */
+    @Test
+    public void testPromotionChangesRecompilePlan() {
+        when(promotionsRepository.findByActiveTrue()).thenReturn(List.of());
+        assertEquals(20.0, pricingService.priceCart().total());
+
+        Promotion promotion = new Promotion("Half off", PromotionType.PERCENT_OFF, Set.of(1L));
+        promotion.setId(1L);
+        promotion.setPercentOff(50);
+        when(promotionsRepository.findByActiveTrue()).thenReturn(List.of(promotion));
+        assertEquals(20.0, pricingService.priceCart().total());
+
+        when(promotionsRepository.findRevision()).thenReturn(new PromotionsRevision(1L, 1L, MODIFIED));
+
+        assertEquals(10.0, pricingService.priceCart().total());
+        verify(promotionsRepository, times(2)).findByActiveTrue();
+    }
+
+    private static CartItem cartItem(Long productId, double price, int quantity) {
+        Product product = new Product("Product " + productId, price);
+        product.setId(productId);
+        CartItem cartItem = new CartItem(product, quantity);
+        cartItem.setId(productId);
+        return cartItem;
+    }
+}
@@ -0,0 +1,123 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.repository.ProductsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * The ProductLoaderTest class contains unit tests for the ProductLoader class.
+ */
+class ProductLoaderTest {
+    private ProductsRepository productsRepository;
+    private ProductLoader productLoader;
+
+    @BeforeEach
+    public void setUp() {
+        productsRepository = mock(ProductsRepository.class);
+        productLoader = new ProductLoader(productsRepository, Duration.ofMillis(5), 100, 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productLoader.shutdown();
+    }
+
+    /**
+     * Tests that many threads loading one hot key share a single database fetch.
+     *
+     * @throws Exception if an exception occurs during the test.
+     */
+    @Test
+    public void testConcurrentLoadsOfHotKeyShareOneFetch() throws Exception {
+        Product product = product(1L, "Hot product", 9.99);
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(productsRepository.findById(1L)).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            releaseFetch.await();
+            return Optional.of(product);
+        });
+
+        int threads = 200;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(threads);
+        List<Future<Optional<Product>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                var future = productLoader.load(1L);
+                submitted.countDown();
+                return future.join();
+            }));
+        }
+        start.countDown();
+        submitted.await();
+        fetchStarted.await();
+        releaseFetch.countDown();
+
+        for (Future<Optional<Product>> result : results) {
+            assertSame(product, result.get().orElseThrow());
+        }
+        callers.shutdown();
+
+        verify(productsRepository, times(1)).findById(1L);
+        ProductLoader.Stats stats = productLoader.getStats();
+        assertEquals(threads, stats.requestedKeys());
+        assertEquals(threads - 1, stats.coalescedKeys());
+        assertEquals(1, stats.issuedQueries());
+    }
+
+    /**
+     * Tests that distinct keys loaded within the batch window are fetched with one query.
+     */
+    @Test
+    public void testDistinctKeysAreBatched() {
+        when(productsRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(product(1L, "A", 1.0), product(2L, "B", 2.0)));
+
+        Map<Long, Product> products = productLoader.loadMany(List.of(1L, 2L, 3L)).join();
+
+        assertEquals(2, products.size());
+        assertEquals("B", products.get(2L).getName());
+        verify(productsRepository, times(1)).findAllById(anyIterable());
+        verify(productsRepository, never()).findById(any());
+        assertEquals(1, productLoader.getStats().issuedQueries());
+        assertEquals(3, productLoader.getStats().fetchedKeys());
+    }
+
+    /**
+     * Tests that a failed fetch fails every waiting load and is not remembered.
+     */
+    @Test
+    public void testFailedFetchIsNotCached() {
+        when(productsRepository.findById(1L))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> productLoader.get(1L));
+        assertTrue(productLoader.get(1L).isEmpty());
+    }
+
+    private static Product product(Long id, String name, double price) {
+        Product product = new Product(name, price);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,73 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.profiling.RequestProfilingInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ProfilingServiceTest class contains unit tests for the ProfilingService class.
+ */
+class ProfilingServiceTest {
+    @TempDir
+    Path directory;
+
+    private ProfilingService profilingService;
+
+    @AfterEach
+    public void tearDown() {
+        if (profilingService != null) {
+            profilingService.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a dump deletes the oldest dumps beyond the kept number and leaves other files alone.
+     *
+     * @throws IOException if the dump directory cannot be prepared.
+     */
+    @Test
+    public void testDumpPrunesOldestDumps() throws IOException {
+        Files.createFile(directory.resolve("intershop-20240101T000000000Z.jfr"));
+        Files.createFile(directory.resolve("intershop-20240102T000000000Z.jfr"));
+        Files.createFile(directory.resolve("intershop-20240103T000000000Z.jfr"));
+        Files.createFile(directory.resolve("notes.txt"));
+        profilingService = service(true, 2);
+        profilingService.startContinuousRecording();
+
+        String name = profilingService.dump();
+
+        assertEquals(List.of("intershop-20240103T000000000Z.jfr", name), profilingService.listDumps());
+        assertTrue(Files.size(directory.resolve(name)) > 0);
+        assertTrue(Files.exists(directory.resolve("notes.txt")));
+    }
+
+    /**
+     * Tests that invalid requests are rejected with the exceptions the controller maps to statuses.
+     */
+    @Test
+    public void testRejectsInvalidRequests() {
+        profilingService = service(false, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> profilingService.profile(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> profilingService.profile(Duration.ofHours(1)));
+        assertThrows(IllegalStateException.class, profilingService::dump);
+        assertThrows(IllegalArgumentException.class, () -> profilingService.summarizeDump("intershop-20240101T000000000Z.jfr"));
+        assertThrows(IllegalArgumentException.class, () -> profilingService.summarizeDump("../application.properties"));
+    }
+
+    private ProfilingService service(boolean continuous, int maxDumps) {
+        return new ProfilingService(new RequestProfilingInterceptor(), Duration.ofMinutes(5), continuous,
+                Duration.ofMinutes(5), DataSize.ofMegabytes(10), Duration.ofMillis(500), Duration.ofMinutes(10),
+                directory, maxDumps);
+    }
+}
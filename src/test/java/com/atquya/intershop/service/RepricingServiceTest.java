@@ -0,0 +1,190 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.dto.RepricingRequest;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.entities.RepricingCheckpoint;
+import com.atquya.intershop.entities.RepricingJob;
+import com.atquya.intershop.entities.RepricingMode;
+import com.atquya.intershop.entities.RepricingStatus;
+import com.atquya.intershop.events.ProductChangedEvent;
+import com.atquya.intershop.repository.ProductsRepository;
+import com.atquya.intershop.repository.RepricingCheckpointsRepository;
+import com.atquya.intershop.repository.RepricingJobsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The RepricingServiceTest class contains unit tests for the RepricingService class.
+ */
+class RepricingServiceTest {
+    private ProductsRepository productsRepository;
+    private RepricingJobsRepository repricingJobsRepository;
+    private RepricingCheckpointsRepository repricingCheckpointsRepository;
+    private JdbcTemplate jdbcTemplate;
+    private RepricingService repricingService;
+
+    @BeforeEach
+    public void setUp() {
+        productsRepository = mock(ProductsRepository.class);
+        repricingJobsRepository = mock(RepricingJobsRepository.class);
+        repricingCheckpointsRepository = mock(RepricingCheckpointsRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(repricingJobsRepository.save(any(RepricingJob.class))).thenAnswer(invocation -> {
+            RepricingJob job = invocation.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+        repricingService = new RepricingService(productsRepository, repricingJobsRepository, repricingCheckpointsRepository,
+                jdbcTemplate, mock(PlatformTransactionManager.class), mock(CatalogSnapshotService.class),
+                mock(ApplicationEventPublisher.class), 1000, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repricingService.shutdown();
+    }
+
+    /**
+     * Tests that a percentage job updates every chunk of the ID range once and checkpoints it.
+     */
+    @Test
+    public void testPercentJobUpdatesEveryChunk() {
+        when(productsRepository.scalePrices(anyLong(), anyLong(), anyDouble())).thenReturn(3);
+
+        RepricingJob job = repricingService.startRuleJob(new RepricingRequest(1L, 10L, RepricingMode.PERCENT, 10, 3));
+
+        assertEquals(4, job.getTotalChunks());
+        verify(repricingJobsRepository, timeout(5000)).finish(eq(7L), eq(RepricingStatus.COMPLETED), anyLong(), any(), isNull());
+        verify(productsRepository).scalePrices(1L, 3L, 1.1);
+        verify(productsRepository).scalePrices(4L, 6L, 1.1);
+        verify(productsRepository).scalePrices(7L, 9L, 1.1);
+        verify(productsRepository).scalePrices(10L, 10L, 1.1);
+        verify(repricingCheckpointsRepository, times(4)).save(any(RepricingCheckpoint.class));
+    }
+
+    /**
+     * Tests that resuming a job skips the chunks it already checkpointed.
+     */
+    @Test
+    public void testResumeSkipsCheckpointedChunks() {
+        RepricingJob stopped = new RepricingJob();
+        stopped.setId(7L);
+        stopped.setMode(RepricingMode.ABSOLUTE);
+        stopped.setAmount(-2);
+        stopped.setFromId(1L);
+        stopped.setToId(10L);
+        stopped.setChunkSize(5);
+        stopped.setTotalChunks(2);
+        stopped.setStatus(RepricingStatus.CANCELLED);
+        when(repricingJobsRepository.findWithPriceListById(7L)).thenReturn(Optional.of(stopped));
+        when(repricingCheckpointsRepository.findChunkIndexesByJobId(7L)).thenReturn(List.of(0));
+
+        repricingService.resume(7L);
+
+        verify(repricingJobsRepository, timeout(5000)).finish(eq(7L), eq(RepricingStatus.COMPLETED), anyLong(), any(), isNull());
+        verify(productsRepository).shiftPrices(6L, 10L, -2);
+        verify(productsRepository, never()).shiftPrices(eq(1L), anyLong(), anyDouble());
+    }
+
+    /**
+     * Tests that a price list is applied with one set-based statement per chunk.
+     */
+    @Test
+    public void testPriceListJobUsesOneStatementPerChunk() {
+        Map<Long, Double> priceList = new LinkedHashMap<>();
+        priceList.put(3L, 30.0);
+        priceList.put(1L, 10.0);
+        priceList.put(2L, 20.0);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2, 1);
+
+        RepricingJob job = repricingService.startPriceListJob(priceList, 2);
+
+        assertEquals(2, job.getTotalChunks());
+        verify(repricingJobsRepository, timeout(5000)).finish(eq(7L), eq(RepricingStatus.COMPLETED), anyLong(), any(), isNull());
+        verify(jdbcTemplate).update("update product set price = case id when ? then ? when ? then ? end where id in (?, ?)",
+                1L, 10.0, 2L, 20.0, 1L, 2L);
+        verify(jdbcTemplate).update("update product set price = case id when ? then ? end where id in (?)", 3L, 30.0, 3L);
+    }
+
+    /**
+     * Tests that a product written locally before a job is read from the catalog snapshot at its repriced price,
+     * and that subscribers are only notified once it is.
+     */
+    @Test
+    public void testLocalWritesDoNotOutliveRepricing(@TempDir Path directory) {
+        JdbcTemplate catalogJdbcTemplate = mock(JdbcTemplate.class);
+        AtomicReference<Double> storedPrice = new AtomicReference<>(10.0);
+        doAnswer(invocation -> {
+            ResultSet row = mock(ResultSet.class);
+            when(row.getLong(1)).thenReturn(5L);
+            when(row.getString(2)).thenReturn("Product 5");
+            when(row.getDouble(3)).thenReturn(storedPrice.get());
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(catalogJdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        CatalogSnapshotService catalogSnapshotService = new CatalogSnapshotService(catalogJdbcTemplate, true, directory.resolve("catalog.snapshot"));
+        catalogSnapshotService.load();
+        catalogSnapshotService.apply(product(5L, 12.0));
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        AtomicReference<Double> notifiedPrice = new AtomicReference<>();
+        doAnswer(invocation -> {
+            notifiedPrice.set(catalogSnapshotService.findById(5L).orElseThrow().getPrice());
+            return null;
+        }).when(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+        RepricingService service = new RepricingService(productsRepository, repricingJobsRepository, repricingCheckpointsRepository,
+                jdbcTemplate, mock(PlatformTransactionManager.class), catalogSnapshotService,
+                eventPublisher, 1000, 2);
+        when(productsRepository.scalePrices(anyLong(), anyLong(), anyDouble())).thenAnswer(invocation -> {
+            storedPrice.set(13.2);
+            return 1;
+        });
+
+        try {
+            service.startRuleJob(new RepricingRequest(1L, 10L, RepricingMode.PERCENT, 10, null));
+            verify(eventPublisher, timeout(5000)).publishEvent(any(ProductChangedEvent.class));
+        } finally {
+            service.shutdown();
+        }
+
+        assertEquals(13.2, notifiedPrice.get());
+        assertEquals(0, catalogSnapshotService.getOverlaySize());
+        assertEquals(13.2, catalogSnapshotService.findById(5L).orElseThrow().getPrice());
+    }
+
+    /**
+     * Tests that invalid rules are rejected before a job is created.
+     */
+    @Test
+    public void testRejectsInvalidRule() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repricingService.startRuleJob(new RepricingRequest(1L, 10L, RepricingMode.PERCENT, -100, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> repricingService.startRuleJob(new RepricingRequest(10L, 1L, RepricingMode.ABSOLUTE, 1, null)));
+        verify(repricingJobsRepository, never()).save(any());
+    }
+
+    private static Product product(Long id, double price) {
+        Product product = new Product("Product " + id, price);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,161 @@
+package com.atquya.intershop.service;
+
+import com.atquya.intershop.entities.CartItem;
+import com.atquya.intershop.entities.Product;
+import com.atquya.intershop.repository.CartItemsRepository;
+import com.atquya.intershop.repository.ProductsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The ShoppingCartsServiceTest class contains unit tests for the ShoppingCartsService class.
+ */
+class ShoppingCartsServiceTest {
+    private CartItemsRepository cartItemsRepository;
+    private ProductsRepository productsRepository;
+    private ProductLoader productLoader;
+    private ShoppingCartsService shoppingCartsService;
+
+    @BeforeEach
+    public void setUp() {
+        cartItemsRepository = mock(CartItemsRepository.class);
+        productsRepository = mock(ProductsRepository.class);
+        productLoader = mock(ProductLoader.class);
+        shoppingCartsService = new ShoppingCartsService(cartItemsRepository, productsRepository,
+                mock(CartExpiryService.class), productLoader, mock(ApplicationEventPublisher.class),
+                new PooledTransactionManager(new Semaphore(1)));
+        when(cartItemsRepository.save(any(CartItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Tests that a new cart item references a product of the current persistence context,
+     * not the shared instance returned by the loader.
+     */
+    @Test
+    public void testAddProductAttachesManagedReference() {
+        Product loaded = new Product();
+        Product reference = new Product();
+        when(productLoader.get(1L)).thenReturn(Optional.of(loaded));
+        when(productsRepository.getReferenceById(1L)).thenReturn(reference);
+
+        shoppingCartsService.addProductToCart(1L, 2);
+
+        ArgumentCaptor<CartItem> saved = ArgumentCaptor.forClass(CartItem.class);
+        verify(cartItemsRepository).save(saved.capture());
+        assertSame(reference, saved.getValue().getProduct());
+        assertEquals(2, saved.getValue().getQuantity());
+    }
+
+    /**
+     * Tests that adding an unknown product fails without touching the cart.
+     */
+    @Test
+    public void testAddUnknownProductFails() {
+        when(productLoader.get(1L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> shoppingCartsService.addProductToCart(1L, 1));
+        verify(cartItemsRepository, never()).save(any());
+        verify(productsRepository, never()).getReferenceById(any());
+    }
+
+    /**
+     * Tests that concurrent adds of the same product do not exhaust a connection pool smaller than the number
+     * of callers: the coalesced lookup runs on the loader's threads and needs a connection of its own.
+     */
+    @Test
+    public void testConcurrentAddsDoNotExhaustConnectionPool() throws Exception {
+        int poolSize = 2;
+        int callers = poolSize * 4;
+        Semaphore connections = new Semaphore(poolSize);
+        ProductLoader loader = new ProductLoader(productsRepository, Duration.ofMillis(5), 100, 2);
+        when(productsRepository.findById(1L)).thenAnswer(invocation -> {
+            acquire(connections);
+            try {
+                Thread.sleep(20);
+                return Optional.of(new Product());
+            } finally {
+                connections.release();
+            }
+        });
+        when(productsRepository.getReferenceById(1L)).thenReturn(new Product());
+        ShoppingCartsService service = new ShoppingCartsService(cartItemsRepository, productsRepository,
+                mock(CartExpiryService.class), loader, mock(ApplicationEventPublisher.class),
+                new PooledTransactionManager(connections));
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> adds = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                adds.add(executor.submit(() -> {
+                    start.await();
+                    service.addProductToCart(1L, 1);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> add : adds) {
+                add.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            loader.shutdown();
+        }
+        verify(cartItemsRepository, times(callers)).save(any(CartItem.class));
+        assertEquals(poolSize, connections.availablePermits());
+    }
+
+    private static void acquire(Semaphore connections) throws InterruptedException {
+        if (!connections.tryAcquire(2, TimeUnit.SECONDS)) {
+            throw new CannotCreateTransactionException("Connection is not available, request timed out");
+        }
+    }
+
+    /**
+     * A transaction manager holding one connection of a bounded pool for the duration of each transaction.
+     */
+    private record PooledTransactionManager(Semaphore connections) implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            try {
+                acquire(connections);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("Interrupted while waiting for a connection", e);
+            }
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            connections.release();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.atquya.intershop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The HierarchicalTimingWheelTest class contains unit tests for the HierarchicalTimingWheel class.
+ */
+class HierarchicalTimingWheelTest {
+
+    /**
+     * Tests that keys expire at their deadline and not before it.
+     */
+    @Test
+    public void testExpiresAtDeadline() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 2, 3, 0);
+        wheel.schedule(1L, 50);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.advance(49, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(50, expired::add);
+        assertEquals(List.of(1L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Tests that deadlines on higher levels and in the overflow list cascade down and expire on time.
+     */
+    @Test
+    public void testCascadesAcrossLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 2, 3, 0);
+        for (long deadline = 1; deadline <= 200; deadline++) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long now = 1; now <= 200; now++) {
+            List<Long> expired = new ArrayList<>();
+            wheel.advance(now, expired::add);
+            assertEquals(List.of(now), expired, "at tick " + now);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Tests that rescheduling a key moves its deadline and cancelling removes it.
+     */
+    @Test
+    public void testRescheduleAndCancel() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 3, 2, 0);
+        wheel.schedule("a", 10);
+        wheel.schedule("b", 10);
+        wheel.schedule("a", 30);
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+        assertFalse(wheel.scheduleIfAbsent("a", 5));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(29, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(30, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    /**
+     * Tests that deadlines already in the past expire on the next tick.
+     */
+    @Test
+    public void testPastDeadlineExpiresOnNextTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(100, 4, 2, 1_000);
+        wheel.schedule(7L, 0);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.advance(1_100, expired::add);
+        assertEquals(List.of(7L), expired);
+    }
+}